@@ -0,0 +1,112 @@
+package org.mosdev.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the ApiResponse envelope through ResponseWrapper
+ * and of serializing it with the application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ApiResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponseHttpMessageConverter converter;
+
+    private Map<String, Object> data;
+
+    private Map<String, Object> metadata;
+
+    private ApiResponse<Map<String, Object>> prebuiltResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkSupport.objectMapper();
+        converter = new ApiResponseHttpMessageConverter(new ApiResponseJsonWriter(objectMapper));
+
+        data = new HashMap<>();
+        data.put("name", "Test User");
+        data.put("email", "test@example.com");
+        data.put("roles", List.of("USER", "ADMIN"));
+
+        metadata = new HashMap<>();
+        metadata.put("version", "1.0.0");
+        metadata.put("server", "Test Server");
+        metadata.put("timestamp", System.currentTimeMillis());
+
+        prebuiltResponse = ApiResponse.success(data, "GET", "Data retrieved successfully");
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<String>> buildOk() {
+        return ResponseWrapper.ok("This is a successful response", "GET", "Operation completed successfully");
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<String>> buildOkWithMetadata() {
+        return ResponseWrapper.okWithMetadata("Response with metadata", "GET", "Metadata included in response", metadata);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<String>> buildCreated() {
+        return ResponseWrapper.created("Resource created", "POST", "Resource created successfully");
+    }
+
+    @Benchmark
+    public byte[] serializePrebuilt() throws Exception {
+        return objectMapper.writeValueAsBytes(prebuiltResponse);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeData() throws Exception {
+        return objectMapper.writeValueAsBytes(ResponseWrapper.ok(data, "GET", "Data retrieved successfully").getBody());
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeMetadata() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                ResponseWrapper.okWithMetadata("Response with metadata", "GET", "Metadata included in response", metadata).getBody());
+    }
+
+    @Benchmark
+    public byte[] serializePrebuiltWithConverter() throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(prebuiltResponse, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeDataWithConverter() throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(ResponseWrapper.ok(data, "GET", "Data retrieved successfully").getBody(),
+                MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,144 @@
+package org.mosdev.template.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.mosdev.template.backend.security.CachingAuthenticationProvider;
+import org.mosdev.template.backend.security.SecurityMode;
+import org.mosdev.template.backend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures authenticated request throughput of each security mode through the real
+ * Spring Security filters: the session lookup of the session mode, HTTP Basic with and without
+ * the verified-credential cache, and bearer token verification of the stateless mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "user";
+
+    private static final String PASSWORD = "user";
+
+    // 256-bit signing key, as required in stateless mode
+    private static final String TOKEN_SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Param({"session", "basic", "basic-cached", "bearer"})
+    public String mode;
+
+    private Filter filter;
+
+    private String authorization;
+
+    private MockHttpSession session;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setPasswordEncoder(passwordEncoder);
+        dao.setUserDetailsService(new InMemoryUserDetailsManager(User.builder()
+                .username(USERNAME)
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("USER")
+                .build()));
+        Authentication authenticated = UsernamePasswordAuthenticationToken.authenticated(
+                USERNAME, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        switch (mode) {
+            case "session" -> {
+                session = new MockHttpSession();
+                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                        new SecurityContextImpl(authenticated));
+                filter = new SecurityContextHolderFilter(new HttpSessionSecurityContextRepository());
+            }
+            case "basic" -> {
+                authorization = basic();
+                filter = new BasicAuthenticationFilter(new ProviderManager(dao));
+            }
+            case "basic-cached" -> {
+                authorization = basic();
+                AuthenticationProvider cached = new CachingAuthenticationProvider(
+                        dao, Duration.ofMinutes(5), 1_000, new SimpleMeterRegistry());
+                filter = new BasicAuthenticationFilter(new ProviderManager(cached));
+            }
+            case "bearer" -> {
+                TokenService tokenService = new TokenService(SecurityMode.STATELESS, TOKEN_SECRET, Duration.ofMinutes(15));
+                authorization = "Bearer " + tokenService.issue(authenticated).getTokenValue();
+                JwtAuthenticationProvider jwt = new JwtAuthenticationProvider(tokenService.decoder());
+                jwt.setJwtAuthenticationConverter(TokenService.authenticationConverter());
+                filter = new BearerTokenAuthenticationFilter(new ProviderManager(jwt));
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test/data");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (session != null) {
+            request.setSession(session);
+        }
+        Authentication[] result = new Authentication[1];
+        FilterChain chain = (req, res) -> result[0] = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        if (result[0] == null || !result[0].isAuthenticated()) {
+            throw new IllegalStateException("Request was not authenticated in mode " + mode);
+        }
+        return result[0];
+    }
+
+    private static String basic() {
+        return "Basic " + Base64.getEncoder().encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+}
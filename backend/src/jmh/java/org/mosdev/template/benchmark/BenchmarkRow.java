@@ -0,0 +1,48 @@
+package org.mosdev.template.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+/**
+ * Entity written by {@link PersistenceBenchmark}.
+ * Uses a pooled sequence, as IDENTITY ids would disable JDBC insert batching.
+ */
+@Entity
+public class BenchmarkRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_row_seq")
+    @SequenceGenerator(name = "benchmark_row_seq", sequenceName = "benchmark_row_seq", allocationSize = 50)
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    protected BenchmarkRow() {
+    }
+
+    BenchmarkRow(String name, String email) {
+        this.name = name;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
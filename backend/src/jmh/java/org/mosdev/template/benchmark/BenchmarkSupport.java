@@ -0,0 +1,71 @@
+package org.mosdev.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mosdev.template.backend.controller.TestController;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.converter.StreamingApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.exception.ErrorEnvelopes;
+import org.mosdev.template.backend.exception.ErrorReporter;
+import org.mosdev.template.backend.exception.GlobalExceptionHandler;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ * The benchmarks run without a database, so only the web layer is assembled here.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Create the ObjectMapper exactly as Spring Boot configures it for the application
+     *
+     * @return The auto-configured ObjectMapper
+     */
+    static ObjectMapper objectMapper() {
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class)) {
+            return context.getBean(ObjectMapper.class);
+        }
+    }
+
+    /**
+     * Create a MockMvc instance serving the TestController with the application's error handling
+     *
+     * @param objectMapper The ObjectMapper used for message conversion
+     * @return A standalone MockMvc instance
+     */
+    static MockMvc mockMvc(ObjectMapper objectMapper) {
+        ApiResponseJsonWriter writer = new ApiResponseJsonWriter(objectMapper);
+        return MockMvcBuilders.standaloneSetup(new TestController())
+                .setControllerAdvice(globalExceptionHandler(writer))
+                .setMessageConverters(
+                        new ByteArrayHttpMessageConverter(),
+                        new ApiResponseHttpMessageConverter(writer),
+                        new StreamingApiResponseHttpMessageConverter(writer, TransactionOperations.withoutTransaction()),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    /**
+     * Create the application's exception handler with pre-rendered error envelopes and default logging limits
+     *
+     * @param writer The envelope writer
+     * @return The exception handler
+     */
+    static GlobalExceptionHandler globalExceptionHandler(ApiResponseJsonWriter writer) {
+        return new GlobalExceptionHandler(new ErrorEnvelopes(writer),
+                new ErrorReporter(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)), false);
+    }
+}
@@ -0,0 +1,126 @@
+package org.mosdev.template.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.mosdev.template.backend.config.WebConfig;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON, CBOR and Smile for a list response of 500 items.
+ * Encoding goes through the ApiResponse converter, decoding reads the envelope back as a tree.
+ * With {@code compression=gzip} the payload is gzipped as {@code server.compression} would do.
+ * The payload size of each combination is printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BinaryFormatBenchmark {
+
+    private static final int ITEM_COUNT = 500;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectMapper mapper;
+
+    private ApiResponseHttpMessageConverter converter;
+
+    private MediaType mediaType;
+
+    private ApiResponse<List<Map<String, Object>>> response;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+        switch (format) {
+            case "cbor" -> {
+                mapper = objectMapper.copyWith(new CBORFactory());
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "smile" -> {
+                mapper = objectMapper.copyWith(new SmileFactory());
+                mediaType = WebConfig.SMILE;
+            }
+            default -> {
+                mapper = objectMapper;
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+        }
+        converter = new ApiResponseHttpMessageConverter(new ApiResponseJsonWriter(mapper), mediaType);
+
+        List<Map<String, Object>> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", (long) i);
+            item.put("name", "Item " + i);
+            item.put("description", "Description of item " + i + " with some text");
+            item.put("price", BigDecimal.valueOf(1999 + i, 2));
+            items.add(item);
+        }
+        response = ApiResponse.success(items, "GET", "Items retrieved successfully");
+
+        payload = encode();
+        System.out.printf("%n%s/%s payload: %d bytes%n", format, compression, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, mediaType, outputMessage);
+        byte[] body = outputMessage.getBodyAsBytes();
+        if (!"gzip".equals(compression)) {
+            return body;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        InputStream raw = new ByteArrayInputStream(payload);
+        try (InputStream input = "gzip".equals(compression) ? new GZIPInputStream(raw) : raw) {
+            return mapper.readTree(input);
+        }
+    }
+}
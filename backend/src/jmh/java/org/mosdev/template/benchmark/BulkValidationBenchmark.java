@@ -0,0 +1,109 @@
+package org.mosdev.template.benchmark;
+
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.mosdev.template.backend.entity.Item;
+import org.mosdev.template.backend.validation.BulkValidationResult;
+import org.mosdev.template.backend.validation.BulkValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a 10k-item bulk payload.
+ * {@code cascaded} is the standard {@code @Valid List<Item>} approach: every item is validated on one
+ * thread and every violation is collected. {@code bulkSequential} and {@code bulkParallel} use
+ * {@link BulkValidator} with one chunk and with parallel chunks; both stop at the error cap.
+ * {@code invalidPercent} sets the share of items with a blank name and a negative price.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BulkValidationBenchmark {
+
+    private static final int MAX_ERRORS = 100;
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"0", "1", "50"})
+    public int invalidPercent;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private BulkValidator sequentialValidator;
+
+    private BulkValidator parallelValidator;
+
+    private List<Item> items;
+
+    private Payload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        int threads = Runtime.getRuntime().availableProcessors();
+        sequentialValidator = new BulkValidator(validator, MAX_ERRORS, Integer.MAX_VALUE, size, threads, 64);
+        parallelValidator = new BulkValidator(validator, MAX_ERRORS, 512, size, threads, 64);
+
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean invalid = invalidPercent > 0 && i % (100 / invalidPercent) == 0;
+            items.add(invalid
+                    ? new Item(" ", "Broken item " + i, new BigDecimal("-1.00"))
+                    : new Item("Item " + i, "Description of item " + i, BigDecimal.valueOf(i, 2)));
+        }
+        payload = new Payload(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sequentialValidator.destroy();
+        parallelValidator.destroy();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object cascaded() {
+        return validator.validate(payload);
+    }
+
+    @Benchmark
+    public BulkValidationResult bulkSequential() {
+        return sequentialValidator.validate("items", items);
+    }
+
+    @Benchmark
+    public BulkValidationResult bulkParallel() {
+        return parallelValidator.validate("items", items);
+    }
+
+    /**
+     * Request body validated with a cascaded {@code @Valid}
+     */
+    public record Payload(@Valid List<Item> items) {
+    }
+}
@@ -0,0 +1,119 @@
+package org.mosdev.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.GlobalExceptionHandler;
+import org.mosdev.template.backend.exception.ResourceNotFoundException;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error throughput of the exception handling path, from throwing the exception to the serialized body.
+ * The {@code legacy*} benchmarks reproduce the previous handler: an exception with a stack trace,
+ * a new envelope with a concatenated message and a full serialization per error.
+ * The other benchmarks go through {@link GlobalExceptionHandler} with stackless application exceptions
+ * and pre-rendered envelopes; their counters and rate-limited logging are included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    private ApiResponseHttpMessageConverter converter;
+
+    private GlobalExceptionHandler handler;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+        ApiResponseJsonWriter writer = new ApiResponseJsonWriter(objectMapper);
+        converter = new ApiResponseHttpMessageConverter(writer);
+        handler = BenchmarkSupport.globalExceptionHandler(writer);
+        request = new MockHttpServletRequest("GET", "/api/test/error");
+    }
+
+    @Benchmark
+    public byte[] legacyUnexpectedError() throws Exception {
+        try {
+            throw new RuntimeException("This is a test exception");
+        } catch (RuntimeException ex) {
+            return serialize(ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR, "GET",
+                    "An unexpected error occurred: " + ex.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyNotFound() throws Exception {
+        try {
+            throw new NoHandlerFoundException("GET", "/api/missing", new HttpHeaders());
+        } catch (NoHandlerFoundException ex) {
+            return serialize(ApiResponse.error(HttpStatus.NOT_FOUND, "GET", "Resource not found: " + ex.getRequestURL()));
+        }
+    }
+
+    @Benchmark
+    public Object applicationError() throws Exception {
+        try {
+            throw new ApplicationException(ErrorCode.INTERNAL_ERROR, "This is a test exception", null, false);
+        } catch (ApplicationException ex) {
+            return body(handler.handleApplicationException(ex, request));
+        }
+    }
+
+    @Benchmark
+    public Object resourceNotFound() throws Exception {
+        try {
+            throw new ResourceNotFoundException();
+        } catch (ResourceNotFoundException ex) {
+            return body(handler.handleApplicationException(ex, request));
+        }
+    }
+
+    @Benchmark
+    public Object noHandlerFound() throws Exception {
+        try {
+            throw new NoHandlerFoundException("GET", "/api/missing", new HttpHeaders());
+        } catch (NoHandlerFoundException ex) {
+            return body(handler.handleNoHandlerFoundException(ex, request));
+        }
+    }
+
+    private Object body(ResponseEntity<?> response) throws Exception {
+        // Dynamic envelopes (not expected here) are serialized like the converter would
+        return response.getBody() instanceof ApiResponse<?> apiResponse ? serialize(apiResponse) : response.getBody();
+    }
+
+    private byte[] serialize(ApiResponse<?> response) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,136 @@
+package org.mosdev.template.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.mosdev.template.backend.config.JpaCacheConfig;
+import org.mosdev.template.backend.entity.Item;
+import org.mosdev.template.backend.repository.ItemRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures repeated reads of {@link Item} with the second-level and query cache disabled and enabled.
+ * Every operation runs outside a transaction, so the persistence context never serves a repeated read;
+ * the statements counter reports the JDBC statements prepared per operation.
+ * Runs against an in-memory H2 database in MariaDB mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemCacheBenchmark {
+
+    private static final int ITEMS = 100;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private Statistics statistics;
+
+    private List<Long> ids;
+
+    private int next;
+
+    /**
+     * JDBC statements prepared per benchmark operation
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RoundTrips {
+
+        public long statements;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ItemCacheConfig.class)
+                .web(WebApplicationType.NONE)
+                // Skip application.properties, the benchmark configures its own datasource
+                .properties("spring.config.name=item-cache-benchmark")
+                .run("--spring.datasource.url=jdbc:h2:mem:items;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--app.jpa-cache.enabled=" + cache,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        itemRepository = context.getBean(ItemRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        ids = itemRepository.saveAll(LongStream.range(0, ITEMS)
+                        .mapToObj(i -> new Item("Item " + i, "Description " + i, BigDecimal.valueOf(i)))
+                        .toList())
+                .stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Item findById(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Item item = itemRepository.findById(ids.get(next++ % ITEMS)).orElseThrow();
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return item;
+    }
+
+    @Benchmark
+    public List<Item> cachedQuery(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        List<Item> items = itemRepository.findByNameContainingIgnoreCaseOrderByNameAsc("item 1");
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return items;
+    }
+
+    /**
+     * Persistence auto-configuration with the application's JPA cache configuration.
+     * Not a stereotype, so no component scan picks it up; the imports are processed because the class
+     * is the primary source.
+     */
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EnableJpaRepositories(basePackageClasses = ItemRepository.class)
+    @EntityScan(basePackageClasses = Item.class)
+    @Import({JpaCacheConfig.class, SimpleMeterRegistry.class})
+    static class ItemCacheConfig {
+    }
+}
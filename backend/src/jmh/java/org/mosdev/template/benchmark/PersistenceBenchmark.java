@@ -0,0 +1,128 @@
+package org.mosdev.template.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JPA writes through Hikari and Hibernate with and without JDBC batching.
+ * Runs against an in-memory H2 database in MariaDB mode as a stand-in for the MariaDB server,
+ * so it compares round trips and Hibernate overhead, not MariaDB's own bulk execution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PersistenceBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersistenceConfig.class)
+                .web(WebApplicationType.NONE)
+                // Skip application.properties, the benchmark configures its own datasource
+                .properties("spring.config.name=persistence-benchmark")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.hikari.maximum-pool-size=4",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.order_updates=true",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createQuery("delete from BenchmarkRow").executeUpdate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(new BenchmarkRow("User " + i, "user" + i + "@example.com"));
+                if ((i + 1) % 50 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public int insertAndUpdate() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(new BenchmarkRow("User " + i, "user" + i + "@example.com"));
+            }
+            entityManager.flush();
+            List<BenchmarkRow> persisted = entityManager
+                    .createQuery("select r from BenchmarkRow r", BenchmarkRow.class)
+                    .setMaxResults(rows)
+                    .getResultList();
+            persisted.forEach(row -> row.setName(row.getName() + " (updated)"));
+            entityManager.flush();
+            entityManager.clear();
+            return persisted.size();
+        });
+    }
+
+    /**
+     * Only the persistence auto-configuration, without web, security or metrics.
+     * Not a stereotype, so no component scan picks it up and replaces the application's entity scan;
+     * the imports are processed because the class is the primary source.
+     */
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = BenchmarkRow.class)
+    static class PersistenceConfig {
+    }
+}
@@ -0,0 +1,104 @@
+package org.mosdev.template.benchmark;
+
+import org.mosdev.template.backend.ratelimit.RateLimit;
+import org.mosdev.template.backend.ratelimit.RateLimitProperties;
+import org.mosdev.template.backend.ratelimit.StripedRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention of the rate limiter across all cores.
+ * {@code striped} is the lock-free {@link StripedRateLimiter}; {@code synchronizedBuckets} is a classic
+ * token bucket refilled on access behind one lock, as a baseline. With {@code keys=shared} all threads
+ * hit the same client bucket (one hot user), with {@code keys=perThread} each thread is its own client.
+ * The limit is high enough that requests are allowed, so the benchmarks measure the bookkeeping only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+
+    @Param({"shared", "perThread"})
+    public String keys;
+
+    private final RateLimit limit = RateLimit.of(new RateLimitProperties.Limit(1_000_000, 1_000_000_000d));
+
+    private StripedRateLimiter striped;
+
+    private SynchronizedTokenBuckets synchronizedBuckets;
+
+    @Setup
+    public void setUp() {
+        striped = new StripedRateLimiter(64, 10_000);
+        synchronizedBuckets = new SynchronizedTokenBuckets(1_000_000, 1_000_000_000d);
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        String key;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark, ThreadParams threadParams) {
+            key = "shared".equals(benchmark.keys) ? "u:user" : "u:user" + threadParams.getThreadIndex();
+        }
+    }
+
+    @Benchmark
+    public long striped(Client client) {
+        return striped.tryAcquire(client.key, limit, System.nanoTime());
+    }
+
+    @Benchmark
+    public boolean synchronizedBuckets(Client client) {
+        return synchronizedBuckets.tryAcquire(client.key, System.nanoTime());
+    }
+
+    /**
+     * Token buckets with a token count and a refill timestamp, updated under one lock
+     */
+    static final class SynchronizedTokenBuckets {
+
+        private final Map<String, double[]> buckets = new HashMap<>();
+
+        private final double capacity;
+
+        private final double tokensPerNano;
+
+        SynchronizedTokenBuckets(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        }
+
+        synchronized boolean tryAcquire(String key, long now) {
+            // [tokens, last refill]
+            double[] bucket = buckets.computeIfAbsent(key, ignored -> new double[]{capacity, now});
+            bucket[0] = Math.min(capacity, bucket[0] + (now - bucket[1]) * tokensPerNano);
+            bucket[1] = now;
+            if (bucket[0] < 1) {
+                return false;
+            }
+            bucket[0]--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.mosdev.template.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.mosdev.template.backend.config.SecurityConfig;
+import org.mosdev.template.backend.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.filter.CompositeFilter;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the servlet filters in front of the DispatcherServlet for each route class,
+ * with the fast path disabled (before: every request runs the full security filter chain)
+ * and enabled (after: preflights are answered up front and the route class is computed once).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SecurityFilterChainBenchmark {
+
+    private static final FilterChain DISPATCHER = (request, response) -> {
+    };
+
+    @Param({"before", "after"})
+    public String variant;
+
+    @Param({"api", "docs", "static", "preflight"})
+    public String route;
+
+    private AnnotationConfigWebApplicationContext context;
+
+    private Filter filters;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean fastPath = "after".equals(variant);
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "application.url", "https://template.mosdev.org",
+                "app.security.fast-path", Boolean.toString(fastPath))));
+        // Spring MVC infrastructure the security request matchers rely on, registered directly:
+        // a nested @EnableWebMvc class would be picked up by the application's component scan
+        context.register(DelegatingWebMvcConfiguration.class, SecurityConfig.class, TokenService.class,
+                SimpleMeterRegistry.class);
+        context.refresh();
+
+        List<Filter> chain = new ArrayList<>();
+        if (fastPath) {
+            chain.add(context.getBean(FilterRegistrationBean.class).getFilter());
+        }
+        chain.add(context.getBean("springSecurityFilterChain", Filter.class));
+        CompositeFilter composite = new CompositeFilter();
+        composite.setFilters(chain);
+        filters = composite;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int filterChain() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filters.doFilter(request, response, DISPATCHER);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest request() {
+        return switch (route) {
+            case "api" -> new MockHttpServletRequest("GET", "/api/test/data");
+            case "docs" -> new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+            case "static" -> new MockHttpServletRequest("GET", "/assets/index-3f9a1c2b.js");
+            case "preflight" -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/test/data");
+                request.addHeader(HttpHeaders.ORIGIN, "http://localhost:5173");
+                request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+                request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "content-type, authorization");
+                yield request;
+            }
+            default -> throw new IllegalArgumentException("Unknown route: " + route);
+        };
+    }
+}
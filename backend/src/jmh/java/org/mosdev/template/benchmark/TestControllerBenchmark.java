@@ -0,0 +1,46 @@
+package org.mosdev.template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Measures the full MockMvc round trip through TestController:
+ * dispatch, handler invocation, envelope creation and JSON serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TestControllerBenchmark {
+
+    @Param({"/api/test/success", "/api/test/data", "/api/test/metadata", "/api/test/error", "/api/test/large?rows=1000"})
+    public String path;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        mockMvc = BenchmarkSupport.mockMvc(BenchmarkSupport.objectMapper());
+    }
+
+    @Benchmark
+    public byte[] roundTrip() throws Exception {
+        return mockMvc.perform(get(path)).andReturn().getResponse().getContentAsByteArray();
+    }
+}
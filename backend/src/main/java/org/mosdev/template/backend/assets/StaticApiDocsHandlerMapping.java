@@ -0,0 +1,77 @@
+package org.mosdev.template.backend.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.mosdev.template.backend.security.SecurityMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.handler.AbstractHandlerMapping;
+
+import java.util.Locale;
+
+/**
+ * Serves the OpenAPI document generated at build time ({@code static/openapi.json} and its gzip variant)
+ * at the springdoc path {@code springdoc.api-docs.path}, instead of scanning the controllers on the first request.
+ * The endpoints depend on {@code app.security.mode}, so each mode has its own document (see {@link #document}).
+ * <p>
+ * Runs before the controller mappings, so springdoc's own endpoint is never reached; the YAML variant, which
+ * would be generated at runtime, is not available. Other springdoc paths such as the Swagger UI configuration
+ * are unaffected. Runtime generation is used where {@code app.openapi.static=false} (the dev profile), and when
+ * the build did not generate the document, e.g. with {@code -DskipTests}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"app.static-assets.enabled", "app.openapi.static"}, havingValue = "true", matchIfMissing = true)
+public class StaticApiDocsHandlerMapping extends AbstractHandlerMapping {
+
+    private static final HttpRequestHandler NOT_FOUND = (request, response) ->
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+    private final String docsPath;
+
+    private final StaticAsset document;
+
+    private final StaticAssetRequestHandler handler = new StaticAssetRequestHandler();
+
+    public StaticApiDocsHandlerMapping(StaticAssetIndex index,
+                                       @Value("${springdoc.api-docs.path:/v3/api-docs}") String docsPath,
+                                       @Value("${app.security.mode:session}") SecurityMode securityMode) {
+        this.docsPath = docsPath;
+        this.document = index.get(document(securityMode));
+        if (document == null) {
+            log.warn("OpenAPI document {} not found in the static resources, it is generated at runtime instead: "
+                    + "build with the tests, which write it", document(securityMode));
+        }
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    /**
+     * Path of the document generated for a security mode, relative to the static location
+     *
+     * @param securityMode The security mode the document was generated in
+     * @return {@code openapi.json} for the session mode, else {@code openapi-<mode>.json}
+     */
+    public static String document(SecurityMode securityMode) {
+        return securityMode == SecurityMode.SESSION
+                ? "openapi.json"
+                : "openapi-" + securityMode.name().toLowerCase(Locale.ROOT) + ".json";
+    }
+
+    @Override
+    protected Object getHandlerInternal(HttpServletRequest request) {
+        if (document == null || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return null;
+        }
+        String path = initLookupPath(request);
+        if (path.equals(docsPath)) {
+            request.setAttribute(StaticAssetRequestHandler.ASSET_ATTRIBUTE, document);
+            return handler;
+        }
+        return path.equals(docsPath + ".yaml") ? NOT_FOUND : null;
+    }
+}
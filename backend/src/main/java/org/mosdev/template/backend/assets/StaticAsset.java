@@ -0,0 +1,24 @@
+package org.mosdev.template.backend.assets;
+
+/**
+ * A file of the bundled frontend with its precompressed variants
+ *
+ * @param path         Path relative to the static location, e.g. {@code assets/index-3f9a1c2b.js}
+ * @param contentType  The Content-Type header value
+ * @param cacheControl The Cache-Control header value
+ * @param identity     The original file
+ * @param brotli       The Brotli variant, or null
+ * @param gzip         The gzip variant, or null
+ */
+public record StaticAsset(String path, String contentType, String cacheControl, StaticAssetVariant identity,
+                          StaticAssetVariant brotli, StaticAssetVariant gzip) {
+
+    /**
+     * Check whether the response depends on Accept-Encoding
+     *
+     * @return True if a precompressed variant exists
+     */
+    public boolean hasVariants() {
+        return brotli != null || gzip != null;
+    }
+}
@@ -0,0 +1,62 @@
+package org.mosdev.template.backend.assets;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.security.RouteClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.AbstractHandlerMapping;
+
+/**
+ * Maps requests for bundled frontend files to {@link StaticAssetRequestHandler}.
+ * <p>
+ * Runs after the controller mappings and before Spring Boot's resource handler, and only claims paths
+ * found in the {@link StaticAssetIndex}, so Swagger UI and other resource locations are unaffected.
+ * Browser navigations to unknown paths outside {@code /api}, the docs and the actuator get the
+ * index page, so client-side routes survive a reload.
+ */
+@Component
+@ConditionalOnProperty(name = "app.static-assets.enabled", havingValue = "true", matchIfMissing = true)
+public class StaticAssetHandlerMapping extends AbstractHandlerMapping {
+
+    private final StaticAssetIndex index;
+
+    private final StaticAssetRequestHandler handler = new StaticAssetRequestHandler();
+
+    public StaticAssetHandlerMapping(StaticAssetIndex index) {
+        this.index = index;
+        setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+    }
+
+    @Override
+    protected Object getHandlerInternal(HttpServletRequest request) {
+        if (request.getDispatcherType() == DispatcherType.ERROR
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return null;
+        }
+        RouteClass routeClass = RouteClass.of(request);
+        if (routeClass != RouteClass.STATIC && routeClass != RouteClass.OTHER) {
+            return null;
+        }
+
+        String path = initLookupPath(request);
+        StaticAsset asset = index.get(path.startsWith("/") ? path.substring(1) : path);
+        if (asset == null && routeClass == RouteClass.OTHER && acceptsHtml(request)) {
+            asset = index.getIndexPage();
+        }
+        if (asset == null) {
+            return null;
+        }
+        request.setAttribute(StaticAssetRequestHandler.ASSET_ATTRIBUTE, asset);
+        return handler;
+    }
+
+    private static boolean acceptsHtml(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_HTML_VALUE);
+    }
+}
@@ -0,0 +1,111 @@
+package org.mosdev.template.backend.assets;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the bundled frontend files, built once at startup.
+ * Each file is paired with the {@code .br} and {@code .gz} variants emitted by the frontend build,
+ * and the response headers are computed up front. Vite's content-hashed files under {@code assets/}
+ * never change, so they are cached by browsers for a year; everything else is revalidated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.static-assets.enabled", havingValue = "true", matchIfMissing = true)
+public class StaticAssetIndex {
+
+    /**
+     * Entry page of the single page application
+     */
+    public static final String INDEX_PAGE = "index.html";
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    static final String REVALIDATE = "no-cache";
+
+    // Vite names bundled files "assets/[name]-[hash].[ext]"
+    private static final Pattern HASHED = Pattern.compile("^assets/.+-[A-Za-z0-9_-]{8,}\\.[A-Za-z0-9]+$");
+
+    private final Map<String, StaticAsset> assets;
+
+    public StaticAssetIndex(@Value("${app.static-assets.location:classpath:/static/}") String location) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource root = resolver.getResource(location);
+        Map<String, Resource> files = new HashMap<>();
+        if (root.exists()) {
+            String rootUrl = root.getURL().toString();
+            for (Resource resource : resolver.getResources(location + "**")) {
+                String url = resource.getURL().toString();
+                if (resource.isReadable() && url.startsWith(rootUrl) && !url.endsWith("/")) {
+                    files.put(url.substring(rootUrl.length()), resource);
+                }
+            }
+        }
+
+        Map<String, StaticAsset> index = new HashMap<>();
+        for (Map.Entry<String, Resource> file : files.entrySet()) {
+            String path = file.getKey();
+            if (path.endsWith(".br") || path.endsWith(".gz")) {
+                continue;
+            }
+            String contentType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            String cacheControl = HASHED.matcher(path).matches() ? IMMUTABLE : REVALIDATE;
+            index.put(path, new StaticAsset(path, contentType, cacheControl,
+                    variant(file.getValue(), null),
+                    variant(files.get(path + ".br"), "br"),
+                    variant(files.get(path + ".gz"), "gzip")));
+        }
+        this.assets = Map.copyOf(index);
+        log.info("Indexed {} static assets from {}", assets.size(), location);
+    }
+
+    /**
+     * Get an asset by its path
+     *
+     * @param path Path relative to the static location, without a leading slash
+     * @return The asset, or null if there is no such file
+     */
+    public StaticAsset get(String path) {
+        return assets.get(path);
+    }
+
+    /**
+     * Get the entry page served for client-side routes
+     *
+     * @return The index page, or null if the frontend is not bundled
+     */
+    public StaticAsset getIndexPage() {
+        return assets.get(INDEX_PAGE);
+    }
+
+    private static StaticAssetVariant variant(Resource resource, String encoding) throws IOException {
+        if (resource == null) {
+            return null;
+        }
+        long length = resource.contentLength();
+        long lastModified = lastModified(resource);
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length)
+                + (encoding != null ? "-" + encoding : "") + "\"";
+        String filePath = resource.isFile() ? resource.getFile().getAbsolutePath() : null;
+        return new StaticAssetVariant(resource, encoding, length, lastModified, etag, filePath);
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+}
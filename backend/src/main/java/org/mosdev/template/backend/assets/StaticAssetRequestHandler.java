@@ -0,0 +1,104 @@
+package org.mosdev.template.backend.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Writes a {@link StaticAsset} selected by {@link StaticAssetHandlerMapping}.
+ * <p>
+ * The precompressed variant is chosen from {@code Accept-Encoding} (Brotli, then gzip); Tomcat does not
+ * compress a response that already has a Content-Encoding. Files on the file system are handed to
+ * Tomcat's sendfile support when the connector offers it, otherwise they are copied.
+ */
+class StaticAssetRequestHandler implements HttpRequestHandler {
+
+    static final String ASSET_ATTRIBUTE = StaticAssetRequestHandler.class.getName() + ".ASSET";
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StaticAsset asset = (StaticAsset) request.getAttribute(ASSET_ATTRIBUTE);
+        StaticAssetVariant variant = selectVariant(asset, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        if (asset.hasVariants()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.cacheControl());
+        if (new ServletWebRequest(request, response).checkNotModified(variant.etag(), variant.lastModified())) {
+            return;
+        }
+
+        response.setContentType(asset.contentType());
+        response.setContentLengthLong(variant.length());
+        if (variant.encoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        }
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (variant.filePath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat transfers the file with sendfile once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, variant.filePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, variant.length());
+            return;
+        }
+        try (InputStream in = variant.resource().getInputStream()) {
+            StreamUtils.copy(in, response.getOutputStream());
+        }
+    }
+
+    private static StaticAssetVariant selectVariant(StaticAsset asset, String acceptEncoding) {
+        if (acceptEncoding == null || !asset.hasVariants()) {
+            return asset.identity();
+        }
+        if (asset.brotli() != null && accepts(acceptEncoding, "br")) {
+            return asset.brotli();
+        }
+        if (asset.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            return asset.gzip();
+        }
+        return asset.identity();
+    }
+
+    // True if the coding is listed without q=0, e.g. "gzip, deflate, br;q=1.0"
+    static boolean accepts(String acceptEncoding, String coding) {
+        for (String entry : acceptEncoding.split(",")) {
+            int semicolon = entry.indexOf(';');
+            String name = (semicolon >= 0 ? entry.substring(0, semicolon) : entry).trim();
+            if (!name.equalsIgnoreCase(coding)) {
+                continue;
+            }
+            if (semicolon < 0) {
+                return true;
+            }
+            String parameter = entry.substring(semicolon + 1).trim().toLowerCase(Locale.ROOT);
+            if (!parameter.startsWith("q=")) {
+                return true;
+            }
+            try {
+                return Double.parseDouble(parameter.substring(2).trim()) > 0;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package org.mosdev.template.backend.assets;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * One encoding of a static asset: the original file or its precompressed .br / .gz sibling
+ *
+ * @param resource     The file to send
+ * @param encoding     The Content-Encoding of the file, or null for the original
+ * @param length       The file size in bytes
+ * @param lastModified The modification time in milliseconds since the epoch, or -1 if unknown
+ * @param etag         Strong ETag of this variant
+ * @param filePath     Absolute path on the file system for sendfile, or null if the file is inside an archive
+ */
+public record StaticAssetVariant(Resource resource, String encoding, long length, long lastModified, String etag,
+                                 String filePath) {
+}
@@ -0,0 +1,354 @@
+package org.mosdev.template.backend.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the sub-requests of a batch call in parallel through the security filter chain and the
+ * DispatcherServlet, so every sub-request is authorized, intercepted and serialized exactly like a
+ * direct call, without another round trip, TLS record or servlet container dispatch. Each sub-request
+ * also takes a token from the rate limit bucket of its own route, so a batch is limited like its calls
+ * made one by one. Sub-requests always use the credentials of the batch request and cannot call the
+ * authentication endpoints.
+ * <p>
+ * Sub-requests run on a bounded pool; when its queue is full the batch request thread runs the
+ * sub-request itself, so a burst of batches slows down instead of failing. Sub-requests that exceed
+ * the timeout are interrupted, and the batch request only completes once every worker has stopped,
+ * so no worker outlives the container request whose data it was given.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher implements DisposableBean {
+
+    /**
+     * Path of the batch endpoint, which cannot be nested
+     */
+    public static final String BATCH_PATH = "/api/batch";
+
+    private static final Set<String> ALLOWED_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE");
+
+    private static final String AUTH_PATH = "/api/auth";
+
+    private final DispatcherServlet dispatcherServlet;
+
+    private final Filter securityFilterChain;
+
+    private final RateLimitFilter rateLimitFilter;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxRequests;
+
+    private final Duration timeout;
+
+    private final ThreadPoolExecutor executor;
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet,
+                           @Qualifier("springSecurityFilterChain") Filter securityFilterChain,
+                           ObjectProvider<RateLimitFilter> rateLimitFilter,
+                           ObjectMapper objectMapper,
+                           @Value("${app.batch.max-requests:20}") int maxRequests,
+                           @Value("${app.batch.threads:16}") int threads,
+                           @Value("${app.batch.queue-capacity:256}") int queueCapacity,
+                           @Value("${app.batch.timeout:10s}") Duration timeout) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.securityFilterChain = securityFilterChain;
+        this.rateLimitFilter = rateLimitFilter.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the largest number of sub-requests accepted in one batch
+     *
+     * @return The maximum number of sub-requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Check a sub-request before it is dispatched
+     *
+     * @param operation The sub-request
+     * @return An error message, or null if the sub-request can be dispatched
+     */
+    public String validate(BatchOperation operation) {
+        if (operation == null || operation.path() == null) {
+            return "Sub-request paths must start with /api/";
+        }
+        int query = operation.path().indexOf('?');
+        String path = normalize(query >= 0 ? operation.path().substring(0, query) : operation.path());
+        if (path == null || !path.startsWith("/api/")) {
+            return "Sub-request paths must start with /api/";
+        }
+        if (path.equals(BATCH_PATH) || path.startsWith(BATCH_PATH + "/")) {
+            return "Batch requests cannot be nested";
+        }
+        if (path.equals(AUTH_PATH) || path.startsWith(AUTH_PATH + "/")) {
+            return "Authentication endpoints cannot be called in a batch";
+        }
+        if (operation.headers() != null) {
+            for (String name : operation.headers().keySet()) {
+                if (BatchRequestSnapshot.CREDENTIAL_HEADERS.contains(name.toLowerCase())) {
+                    return "Sub-requests use the credentials of the batch request: " + name;
+                }
+            }
+        }
+        if (operation.method() != null && !ALLOWED_METHODS.contains(operation.method().toUpperCase())) {
+            return "Unsupported method: " + operation.method();
+        }
+        return null;
+    }
+
+    /**
+     * Normalize a sub-request path the way Spring MVC routes it: remove ";" parameters, decode once and
+     * collapse duplicate slashes, so {@code /api/%62atch} is recognized as the batch endpoint
+     *
+     * @param path The raw path, without the query
+     * @return The normalized path, or null if it is malformed or contains "." or ".." segments
+     */
+    static String normalize(String path) {
+        String decoded;
+        try {
+            decoded = UriUtils.decode(UrlPathHelper.defaultInstance.removeSemicolonContent(path), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        String normalized = decoded.replaceAll("/{2,}", "/");
+        for (String segment : normalized.split("/")) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return null;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Dispatch the sub-requests of a batch in parallel.
+     * Returns once every sub-request has completed or was interrupted after the timeout.
+     *
+     * @param request    The batch request, providing the credentials of the sub-requests
+     * @param operations The validated sub-requests
+     * @return The results, in the order of the sub-requests
+     */
+    public List<BatchResult> dispatch(HttpServletRequest request, List<BatchOperation> operations) {
+        // Read on this thread, the container request is not thread-safe
+        BatchRequestSnapshot batchRequest = BatchRequestSnapshot.of(request);
+        List<SubRequestTask> tasks = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String id = operation.id() != null ? operation.id() : Integer.toString(i);
+            SubRequestTask task = new SubRequestTask(batchRequest, id, operation);
+            tasks.add(task);
+            executor.execute(task);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean interrupted = false;
+        List<BatchResult> results = new ArrayList<>(tasks.size());
+        for (SubRequestTask task : tasks) {
+            String method = methodOf(task.operation);
+            boolean completed = false;
+            if (!interrupted) {
+                try {
+                    completed = task.done.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (completed) {
+                // No result if the sub-request ended with an Error
+                results.add(task.result != null ? task.result
+                        : error(task.id, method, HttpStatus.INTERNAL_SERVER_ERROR, "Sub-request failed"));
+            } else {
+                task.cancel();
+                results.add(interrupted
+                        ? error(task.id, method, HttpStatus.SERVICE_UNAVAILABLE, "Batch interrupted")
+                        : error(task.id, method, HttpStatus.GATEWAY_TIMEOUT, "Sub-request timed out"));
+            }
+        }
+
+        // Interrupted workers may still be unwinding
+        for (SubRequestTask task : tasks) {
+            while (true) {
+                try {
+                    task.done.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+
+    /**
+     * A sub-request on the pool, which can be cancelled before it starts or interrupted while it runs
+     */
+    private final class SubRequestTask implements Runnable {
+
+        private final BatchRequestSnapshot batchRequest;
+
+        private final String id;
+
+        private final BatchOperation operation;
+
+        // Counted down when the task finished or was cancelled before it started
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Thread worker;
+
+        private boolean cancelled;
+
+        private volatile BatchResult result;
+
+        private SubRequestTask(BatchRequestSnapshot batchRequest, String id, BatchOperation operation) {
+            this.batchRequest = batchRequest;
+            this.id = id;
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                worker = Thread.currentThread();
+            }
+            try {
+                result = execute(batchRequest, id, operation);
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                    // Do not pass an interrupt that arrived after the sub-request finished on to the next task
+                    Thread.interrupted();
+                }
+                done.countDown();
+            }
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (worker != null) {
+                    worker.interrupt();
+                } else {
+                    // Not started, or discarded by the pool after shutdown
+                    done.countDown();
+                }
+            }
+        }
+    }
+
+    private BatchResult execute(BatchRequestSnapshot batchRequest, String id, BatchOperation operation) {
+        String method = methodOf(operation);
+        // The security filter chain clears the security context of the thread running it,
+        // which is the batch request thread when the pool is saturated
+        SecurityContext batchContext = SecurityContextHolder.getContext();
+        try {
+            byte[] body = operation.body() != null && !operation.body().isNull()
+                    ? objectMapper.writeValueAsBytes(operation.body()) : new byte[0];
+            BatchSubRequest subRequest = new BatchSubRequest(batchRequest, method, operation.path(), operation.headers(), body);
+            BatchSubResponse subResponse = new BatchSubResponse();
+            if (rateLimitFilter != null) {
+                securityFilterChain.doFilter(subRequest, subResponse, (servletRequest, servletResponse) ->
+                        rateLimitFilter.doFilterNested((HttpServletRequest) servletRequest,
+                                (HttpServletResponse) servletResponse, dispatcherServlet::service));
+            } else {
+                securityFilterChain.doFilter(subRequest, subResponse, dispatcherServlet::service);
+            }
+            return new BatchResult(id, subResponse.getStatus(), responseBody(subResponse));
+        } catch (Exception ex) {
+            log.debug("Batch sub-request {} {} failed", method, operation.path(), ex);
+            return error(id, method, HttpStatus.INTERNAL_SERVER_ERROR, "Sub-request failed");
+        } finally {
+            SecurityContextHolder.setContext(batchContext);
+        }
+    }
+
+    private static String methodOf(BatchOperation operation) {
+        return operation.method() != null ? operation.method().toUpperCase() : HttpMethod.GET.name();
+    }
+
+    private String responseBody(BatchSubResponse subResponse) throws JsonProcessingException {
+        byte[] body = subResponse.getBody();
+        if (body.length == 0) {
+            return null;
+        }
+        String contentType = subResponse.getContentType();
+        if (contentType != null && isJson(contentType)) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        // Anything else is embedded as a JSON string
+        return objectMapper.writeValueAsString(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || mediaType.getSubtype().endsWith("+json");
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private BatchResult error(String id, String method, HttpStatus status, String message) {
+        try {
+            String body = objectMapper.writeValueAsString(ApiResponse.error(status, method, message));
+            return new BatchResult(id, status.value(), body);
+        } catch (JsonProcessingException ex) {
+            return new BatchResult(id, status.value(), null);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
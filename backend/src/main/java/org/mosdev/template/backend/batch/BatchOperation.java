@@ -0,0 +1,17 @@
+package org.mosdev.template.backend.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One sub-request of a {@code POST /api/batch} call
+ *
+ * @param id      Optional client-chosen identifier, echoed in the matching {@link BatchResult}
+ * @param method  The HTTP method, GET if absent
+ * @param path    The path below {@code /api}, with an optional query string
+ * @param headers Additional request headers
+ * @param body    Optional JSON request body
+ */
+public record BatchOperation(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+}
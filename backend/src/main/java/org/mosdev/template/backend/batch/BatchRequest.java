@@ -0,0 +1,11 @@
+package org.mosdev.template.backend.batch;
+
+import java.util.List;
+
+/**
+ * Body of a {@code POST /api/batch} call
+ *
+ * @param requests The sub-requests, answered in the same order
+ */
+public record BatchRequest(List<BatchOperation> requests) {
+}
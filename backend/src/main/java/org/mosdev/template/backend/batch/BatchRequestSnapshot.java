@@ -0,0 +1,96 @@
+package org.mosdev.template.backend.batch;
+
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The data of a batch request that its sub-requests need, read once on the batch request thread.
+ * Container requests are not thread-safe and are recycled when the batch request completes, so worker
+ * threads only ever read this snapshot.
+ *
+ * @param contextPath             The context path
+ * @param scheme                  The scheme, e.g. https
+ * @param serverName              The host name the batch request was sent to
+ * @param serverPort              The port the batch request was sent to
+ * @param secure                  Whether the batch request was sent over a secure channel
+ * @param protocol                The protocol, e.g. HTTP/1.1
+ * @param remoteAddr              The client address
+ * @param remoteHost              The client host name, or its address
+ * @param remotePort              The client port
+ * @param localName               The name of the interface the request was received on
+ * @param localAddr               The address of the interface the request was received on
+ * @param localPort               The port the request was received on
+ * @param locales                 The preferred locales of the client, most preferred first
+ * @param cookies                 The cookies, or null if there are none
+ * @param headers                 The headers inherited by the sub-requests
+ * @param session                 The existing session, or null; sub-requests cannot create one
+ * @param requestedSessionId      The session id sent by the client, or null
+ * @param requestedSessionIdValid Whether the requested session id is valid
+ * @param sessionIdFromCookie     Whether the session id was sent in a cookie
+ * @param sessionIdFromUrl        Whether the session id was sent in the URL
+ * @param servletContext          The servlet context
+ * @param servletMapping          The mapping of the servlet that received the batch request
+ * @param servletConnection       The connection the batch request was received on
+ */
+record BatchRequestSnapshot(String contextPath, String scheme, String serverName, int serverPort, boolean secure,
+                            String protocol, String remoteAddr, String remoteHost, int remotePort, String localName,
+                            String localAddr, int localPort, List<Locale> locales, Cookie[] cookies,
+                            Map<String, List<String>> headers, HttpSession session, String requestedSessionId,
+                            boolean requestedSessionIdValid, boolean sessionIdFromCookie, boolean sessionIdFromUrl,
+                            ServletContext servletContext, HttpServletMapping servletMapping,
+                            ServletConnection servletConnection) {
+
+    /**
+     * Headers of the batch request that also apply to its sub-requests
+     */
+    static final List<String> INHERITED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.USER_AGENT);
+
+    /**
+     * Inherited headers carrying credentials, which sub-requests cannot replace (lower case)
+     */
+    static final Set<String> CREDENTIAL_HEADERS = Set.of("authorization", "cookie");
+
+    /**
+     * Read the data of a batch request; must run on the thread processing it
+     *
+     * @param request The batch request
+     * @return The snapshot
+     */
+    static BatchRequestSnapshot of(HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+        for (String name : INHERITED_HEADERS) {
+            List<String> values = Collections.list(request.getHeaders(name));
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            cookies = cookies.clone();
+            for (int i = 0; i < cookies.length; i++) {
+                cookies[i] = (Cookie) cookies[i].clone();
+            }
+        }
+        return new BatchRequestSnapshot(request.getContextPath(), request.getScheme(), request.getServerName(),
+                request.getServerPort(), request.isSecure(), request.getProtocol(), request.getRemoteAddr(),
+                request.getRemoteHost(), request.getRemotePort(), request.getLocalName(), request.getLocalAddr(),
+                request.getLocalPort(), List.copyOf(Collections.list(request.getLocales())), cookies,
+                Collections.unmodifiableMap(headers), request.getSession(false), request.getRequestedSessionId(),
+                request.isRequestedSessionIdValid(), request.isRequestedSessionIdFromCookie(),
+                request.isRequestedSessionIdFromURL(), request.getServletContext(), request.getHttpServletMapping(),
+                request.getServletConnection());
+    }
+}
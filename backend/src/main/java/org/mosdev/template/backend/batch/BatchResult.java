@@ -0,0 +1,13 @@
+package org.mosdev.template.backend.batch;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Outcome of one sub-request of a {@code POST /api/batch} call
+ *
+ * @param id       The identifier of the {@link BatchOperation}
+ * @param status   The HTTP status of the sub-request
+ * @param response The JSON body of the sub-request (normally an ApiResponse envelope), embedded as is
+ */
+public record BatchResult(String id, int status, @JsonRawValue String response) {
+}
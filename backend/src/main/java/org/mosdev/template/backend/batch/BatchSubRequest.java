@@ -0,0 +1,524 @@
+package org.mosdev.template.backend.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpUpgradeHandler;
+import jakarta.servlet.http.Part;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sub-request of a batch call, dispatched on a worker thread.
+ * Method, path, query, headers and body come from the {@link BatchOperation}; credentials
+ * (Authorization, Cookie and the HTTP session) and connection data come from the
+ * {@link BatchRequestSnapshot} of the batch request. The container request is never read from a
+ * worker thread. Request attributes are private to the sub-request, so filters that mark a request as
+ * already processed run again. Sub-requests cannot start async processing, create or rotate a session,
+ * or read multipart bodies.
+ */
+class BatchSubRequest implements HttpServletRequest {
+
+    private final BatchRequestSnapshot batchRequest;
+
+    private final String method;
+
+    private final String requestUri;
+
+    private final String servletPath;
+
+    private final String queryString;
+
+    private final Map<String, String[]> parameters;
+
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+
+    private final byte[] body;
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    BatchSubRequest(BatchRequestSnapshot batchRequest, String method, String path, Map<String, String> headers, byte[] body) {
+        this.batchRequest = batchRequest;
+        this.method = method;
+        int query = path.indexOf('?');
+        this.servletPath = query >= 0 ? path.substring(0, query) : path;
+        this.queryString = query >= 0 ? path.substring(query + 1) : null;
+        this.requestUri = batchRequest.contextPath() + servletPath;
+        this.parameters = parseQuery(queryString);
+        this.body = body;
+
+        this.headers.putAll(batchRequest.headers());
+        this.headers.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+        if (body.length > 0) {
+            this.headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        }
+        if (headers != null) {
+            headers.forEach((name, value) -> {
+                if (!BatchRequestSnapshot.CREDENTIAL_HEADERS.contains(name.toLowerCase())) {
+                    this.headers.put(name, List.of(value));
+                }
+            });
+        }
+    }
+
+    private static Map<String, String[]> parseQuery(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String pair : queryString.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator >= 0 ? pair.substring(0, separator) : pair, StandardCharsets.UTF_8);
+            String value = separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8) : "";
+            values.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        values.forEach((name, list) -> parameters.put(name, list.toArray(String[]::new)));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+        if (port > 0 && !(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443))) {
+            url.append(':').append(port);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        HttpHeaders parsed = new HttpHeaders();
+        parsed.set(name, value);
+        return parsed.getFirstDate(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Non-blocking reads are not supported in batch sub-requests");
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return input.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Asynchronous processing is not supported in batch sub-requests");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Asynchronous processing is not supported in batch sub-requests");
+    }
+
+    @Override
+    public String getContextPath() {
+        return batchRequest.contextPath();
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return batchRequest.servletMapping();
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        Cookie[] cookies = batchRequest.cookies();
+        if (cookies == null) {
+            return null;
+        }
+        Cookie[] copy = new Cookie[cookies.length];
+        for (int i = 0; i < cookies.length; i++) {
+            copy[i] = (Cookie) cookies[i].clone();
+        }
+        return copy;
+    }
+
+    // The security filter chain wraps the sub-request and answers these from its own authentication
+
+    @Override
+    public String getAuthType() {
+        return null;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return null;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return null;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return false;
+    }
+
+    @Override
+    public void login(String username, String password) {
+        throw new UnsupportedOperationException("Login is not supported in batch sub-requests");
+    }
+
+    @Override
+    public void logout() {
+        throw new UnsupportedOperationException("Logout is not supported in batch sub-requests");
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return batchRequest.requestedSessionId();
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        HttpSession session = batchRequest.session();
+        if (session == null && create) {
+            throw new IllegalStateException("Batch sub-requests cannot create a session");
+        }
+        return session;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Batch sub-requests cannot change the session id");
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return batchRequest.requestedSessionIdValid();
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return batchRequest.sessionIdFromCookie();
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return batchRequest.sessionIdFromUrl();
+    }
+
+    @Override
+    public Collection<Part> getParts() {
+        throw new IllegalStateException("Multipart bodies are not supported in batch sub-requests");
+    }
+
+    @Override
+    public Part getPart(String name) {
+        throw new IllegalStateException("Multipart bodies are not supported in batch sub-requests");
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) {
+        throw new UnsupportedOperationException("Protocol upgrades are not supported in batch sub-requests");
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // The body of a sub-request is always UTF-8 JSON
+    }
+
+    @Override
+    public String getProtocol() {
+        return batchRequest.protocol();
+    }
+
+    @Override
+    public String getScheme() {
+        return batchRequest.scheme();
+    }
+
+    @Override
+    public String getServerName() {
+        return batchRequest.serverName();
+    }
+
+    @Override
+    public int getServerPort() {
+        return batchRequest.serverPort();
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return batchRequest.remoteAddr();
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return batchRequest.remoteHost();
+    }
+
+    @Override
+    public int getRemotePort() {
+        return batchRequest.remotePort();
+    }
+
+    @Override
+    public String getLocalName() {
+        return batchRequest.localName();
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return batchRequest.localAddr();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return batchRequest.localPort();
+    }
+
+    @Override
+    public Locale getLocale() {
+        return batchRequest.locales().isEmpty() ? Locale.getDefault() : batchRequest.locales().get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(batchRequest.locales().isEmpty() ? List.of(Locale.getDefault()) : batchRequest.locales());
+    }
+
+    @Override
+    public boolean isSecure() {
+        return batchRequest.secure();
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        // Forwards and includes would dispatch through the container
+        return null;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return batchRequest.servletContext();
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Asynchronous processing is not supported in batch sub-requests");
+    }
+
+    @Override
+    public String getRequestId() {
+        return "";
+    }
+
+    @Override
+    public String getProtocolRequestId() {
+        return "";
+    }
+
+    @Override
+    public ServletConnection getServletConnection() {
+        return batchRequest.servletConnection();
+    }
+}
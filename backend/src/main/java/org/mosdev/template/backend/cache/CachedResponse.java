@@ -0,0 +1,29 @@
+package org.mosdev.template.backend.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized ApiResponse of a GET endpoint.
+ * A cache hit is written straight from the stored bytes without invoking the controller,
+ * and conditional requests with a matching {@code If-None-Match} get 304 Not Modified.
+ * <p>
+ * The cache key is the HTTP method, request URI, query string and {@code Accept} header, so annotated
+ * endpoints must not depend on the authenticated user. The envelope {@code timestamp} of a
+ * cached response is the time the body was generated, not the time it is served: it stays
+ * consistent with the strong ETag of the stored bytes, the {@code Age} header reports how old
+ * the body is and the TTL bounds it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+
+    /**
+     * Time to live of a cached response in seconds
+     */
+    long ttlSeconds() default 60;
+}
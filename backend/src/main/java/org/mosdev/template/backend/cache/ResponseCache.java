@@ -0,0 +1,78 @@
+package org.mosdev.template.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounded in-process store for serialized responses of {@link CachedResponse} endpoints.
+ * Entries are evicted by the total size of the stored bodies and expire after their own TTL.
+ * Hits, misses, puts and evictions are published as {@code cache.*} metrics with {@code cache=api.responses}.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Name of the cache in the published metrics
+     */
+    public static final String CACHE_NAME = "api.responses";
+
+    private final Cache<String, ResponseCacheEntry> cache;
+
+    public ResponseCache(@Value("${app.response-cache.maximum-size:10MB}") DataSize maximumSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, ResponseCacheEntry entry) -> key.length() + entry.body().length)
+                .expireAfter(new Expiry<String, ResponseCacheEntry>() {
+                    @Override
+                    public long expireAfterCreate(String key, ResponseCacheEntry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, ResponseCacheEntry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, ResponseCacheEntry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a cached response
+     *
+     * @param key The cache key
+     * @return The cached entry, or null if absent or expired
+     */
+    public ResponseCacheEntry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Store a response
+     *
+     * @param key   The cache key
+     * @param entry The entry to store
+     */
+    public void put(String key, ResponseCacheEntry entry) {
+        cache.put(key, entry);
+    }
+
+    /**
+     * Remove all cached responses
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
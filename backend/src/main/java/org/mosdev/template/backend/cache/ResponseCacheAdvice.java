@@ -0,0 +1,92 @@
+package org.mosdev.template.backend.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Stores the body of a missed {@link CachedResponse} lookup.
+ * The ApiResponse is serialized once into a byte array, stored in the {@link ResponseCache}
+ * and written from that array, so a miss costs no second serialization. The writer of the
+ * converter selected for the response is used, so JSON, CBOR and Smile bodies are cached as such.
+ */
+@RestControllerAdvice
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ResponseCache responseCache;
+
+    private final List<ApiResponseHttpMessageConverter> converters;
+
+    public ResponseCacheAdvice(ResponseCache responseCache, List<ApiResponseHttpMessageConverter> converters) {
+        this.responseCache = responseCache;
+        this.converters = converters;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(CachedResponse.class)
+                && ApiResponseHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse<?> apiResponse)
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() != HttpStatus.OK.value()) {
+            return body;
+        }
+        Object key = servletRequest.getServletRequest().getAttribute(ResponseCacheInterceptor.CACHE_KEY_ATTRIBUTE);
+        CachedResponse policy = returnType.getMethodAnnotation(CachedResponse.class);
+        ApiResponseJsonWriter writer = writerFor(selectedContentType);
+        if (!(key instanceof String cacheKey) || policy == null || writer == null) {
+            return body;
+        }
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+            try (JsonGenerator generator = writer.createGenerator(buffer)) {
+                writer.writeEnvelope(generator, apiResponse);
+            }
+            ResponseCacheEntry entry = ResponseCacheEntry.of(buffer.toByteArray(), selectedContentType.toString(), policy.ttlSeconds());
+            responseCache.put(cacheKey, entry);
+
+            response.getHeaders().setETag(entry.etag());
+            response.getHeaders().setContentType(selectedContentType);
+            response.getHeaders().setContentLength(entry.body().length);
+            response.getBody().write(entry.body());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // The body has been written from the cached bytes
+        return null;
+    }
+
+    // JSON, CBOR and Smile are written by converter instances with different writers
+    private ApiResponseJsonWriter writerFor(MediaType contentType) {
+        for (ApiResponseHttpMessageConverter converter : converters) {
+            if (converter.canWrite(ApiResponse.class, contentType)) {
+                return converter.getWriter();
+            }
+        }
+        return null;
+    }
+}
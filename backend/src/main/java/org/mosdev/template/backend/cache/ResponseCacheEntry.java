@@ -0,0 +1,37 @@
+package org.mosdev.template.backend.cache;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * A serialized response body stored in the {@link ResponseCache}
+ *
+ * @param body        The serialized body
+ * @param contentType The content type of the body
+ * @param etag        Strong ETag computed from the body
+ * @param createdAt   Creation time in milliseconds since the epoch
+ * @param ttlNanos    Time to live in nanoseconds
+ */
+public record ResponseCacheEntry(byte[] body, String contentType, String etag, long createdAt, long ttlNanos) {
+
+    /**
+     * Create an entry for the given body
+     *
+     * @param body        The serialized body
+     * @param contentType The content type of the body
+     * @param ttlSeconds  Time to live in seconds
+     * @return A new entry
+     */
+    public static ResponseCacheEntry of(byte[] body, String contentType, long ttlSeconds) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new ResponseCacheEntry(body, contentType, etag, System.currentTimeMillis(), ttlSeconds * 1_000_000_000L);
+    }
+
+    /**
+     * Get the age of the entry in seconds, as reported in the Age header
+     *
+     * @return The age in seconds
+     */
+    public long ageSeconds() {
+        return Math.max(0, (System.currentTimeMillis() - createdAt) / 1000);
+    }
+}
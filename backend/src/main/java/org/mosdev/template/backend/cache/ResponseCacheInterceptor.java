@@ -0,0 +1,80 @@
+package org.mosdev.template.backend.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mosdev.template.backend.metrics.EndpointMetricsFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Serves {@link CachedResponse} endpoints from the {@link ResponseCache}.
+ * On a hit the stored bytes are written (or 304 Not Modified is returned for a matching ETag)
+ * and the controller is not invoked. On a miss the cache key is stored as a request attribute
+ * so {@link ResponseCacheAdvice} can store the serialized body.
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * Request attribute holding the cache key of a missed lookup
+     */
+    public static final String CACHE_KEY_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".KEY";
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheInterceptor(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(CachedResponse.class)
+                || !isCacheableMethod(request)) {
+            return true;
+        }
+
+        String key = cacheKey(request);
+        ResponseCacheEntry entry = responseCache.get(key);
+        if (entry == null) {
+            request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.AGE, Long.toString(entry.ageSeconds()));
+        // Sets the ETag header and answers 304 when If-None-Match matches
+        if (new ServletWebRequest(request, response).checkNotModified(entry.etag())) {
+            return false;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType());
+        response.setContentLength(entry.body().length);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            response.getOutputStream().write(entry.body());
+        }
+        return false;
+    }
+
+    private static boolean isCacheableMethod(HttpServletRequest request) {
+        String method = request.getMethod();
+        // Debug metrics are measured per request, so those responses are neither served from nor stored in the cache
+        return (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))
+                && request.getHeader(EndpointMetricsFilter.DEBUG_HEADER) == null;
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // The envelope echoes the HTTP method, so GET and HEAD are cached separately
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getRequestURI());
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        return key.append('|').append(accept != null ? accept : "").toString();
+    }
+}
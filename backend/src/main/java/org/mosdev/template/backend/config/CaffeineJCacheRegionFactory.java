@@ -0,0 +1,52 @@
+package org.mosdev.template.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate JCache region factory creating every cache region as a bounded Caffeine cache.
+ * <p>
+ * Regions are created on first use with a maximum size and a time to live; the update timestamps
+ * region is neither bounded nor expired, as Hibernate requires for correct query cache invalidation.
+ * Entries are stored by reference: Hibernate only caches disassembled, immutable state.
+ * Each region publishes hits, misses, puts and evictions as {@code cache.*} metrics.
+ */
+class CaffeineJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long maximumSize;
+
+    private final Duration timeToLive;
+
+    CaffeineJCacheRegionFactory(CacheManager cacheManager, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (!regionName.endsWith(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        Cache<Object, Object> cache = cacheManager.createCache(regionName, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+        return cache;
+    }
+}
@@ -0,0 +1,52 @@
+package org.mosdev.template.backend.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Hibernate second-level and query cache backed by Caffeine through JCache.
+ * Entities opt in with {@code @Cacheable} and {@code @org.hibernate.annotations.Cache},
+ * queries with the {@code org.hibernate.cacheable} hint.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jpa-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class JpaCacheConfig {
+
+    /**
+     * Cache manager holding the region caches, owned by this application context
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jpaCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A URI per context, so the statistics MBeans of two contexts in one JVM do not collide
+        URI uri = URI.create("jpa-cache-" + Integer.toHexString(System.identityHashCode(this)));
+        return provider.getCacheManager(uri, getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaCacheCustomizer(
+            CacheManager jpaCacheManager, MeterRegistry meterRegistry,
+            @Value("${app.jpa-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.jpa-cache.time-to-live:10m}") Duration timeToLive) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                    new CaffeineJCacheRegionFactory(jpaCacheManager, meterRegistry, maximumSize, timeToLive));
+            properties.put(ConfigSettings.CACHE_MANAGER, jpaCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        };
+    }
+}
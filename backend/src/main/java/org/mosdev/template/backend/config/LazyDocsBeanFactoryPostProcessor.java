@@ -0,0 +1,52 @@
+package org.mosdev.template.backend.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Defers creation of the springdoc and OpenAPI beans (including {@link OpenApiConfig}) until first use,
+ * so generating the API documentation is not part of application startup.
+ * <p>
+ * Controller mappings are detected from bean types, so {@code /api/api-docs} and the Swagger UI are
+ * still mapped and their beans are created by the first request. Beans required by an eager bean
+ * (e.g. MVC configurers) are still created at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.lazy-docs", havingValue = "true")
+public class LazyDocsBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final List<String> DOCS_PACKAGES = List.of("org.springdoc.", "io.swagger.");
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type != null && isDocsBean(type)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static boolean isDocsBean(Class<?> type) {
+        // Post-processors are always created up front, marking them lazy has no effect
+        if (BeanPostProcessor.class.isAssignableFrom(type) || BeanFactoryPostProcessor.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (type == OpenApiConfig.class) {
+            return true;
+        }
+        String name = type.getName();
+        return DOCS_PACKAGES.stream().anyMatch(name::startsWith);
+    }
+}
@@ -4,14 +4,22 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.servers.Server;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class OpenApiConfig {
 
+    /**
+     * The server is the context path rather than the URL of the request that generated the document,
+     * so the document built at build time is valid on every host
+     */
     @Bean
-    public OpenAPI customOpenAPI() {
+    public OpenAPI customOpenAPI(@Value("${server.servlet.context-path:/}") String contextPath) {
         return new OpenAPI()
                 .info(new Info()
                         .title("Spring Boot React Template API")
@@ -22,6 +30,7 @@ public class OpenApiConfig {
                                 .email("developer@example.com"))
                         .license(new License()
                                 .name("Apache 2.0")
-                                .url("http://www.apache.org/licenses/LICENSE-2.0.html")));
+                                .url("http://www.apache.org/licenses/LICENSE-2.0.html")))
+                .servers(List.of(new Server().url(contextPath)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package org.mosdev.template.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mosdev.template.backend.exception.ErrorEnvelopes;
+import org.mosdev.template.backend.ratelimit.RateLimitFilter;
+import org.mosdev.template.backend.ratelimit.RateLimitProperties;
+import org.mosdev.template.backend.ratelimit.StripedRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Rate limiting and load shedding of {@code /api} requests, see {@link RateLimitProperties}
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public StripedRateLimiter stripedRateLimiter(RateLimitProperties properties) {
+        return new StripedRateLimiter(properties.getStripes(), properties.getMaxKeysPerStripe());
+    }
+
+    /**
+     * Also applied to batch sub-requests, which do not pass the servlet filters
+     */
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, StripedRateLimiter stripedRateLimiter,
+                                           ErrorEnvelopes errorEnvelopes, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, stripedRateLimiter, errorEnvelopes, meterRegistry);
+    }
+
+    /**
+     * Runs after the security filter chain, which provides the principal, and the endpoint metrics filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    /**
+     * Buckets of clients that stopped sending requests are dropped once they have refilled
+     */
+    @Bean
+    public RateLimiterCleanup rateLimiterCleanup(StripedRateLimiter stripedRateLimiter) {
+        return new RateLimiterCleanup(stripedRateLimiter);
+    }
+
+    static class RateLimiterCleanup {
+
+        private final StripedRateLimiter rateLimiter;
+
+        RateLimiterCleanup(StripedRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval:1m}")
+        void evictIdle() {
+            rateLimiter.evictIdle(System.nanoTime());
+        }
+    }
+}
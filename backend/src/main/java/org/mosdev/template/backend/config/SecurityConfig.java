@@ -1,24 +1,50 @@
 package org.mosdev.template.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mosdev.template.backend.assets.StaticAssetIndex;
+import org.mosdev.template.backend.security.CachingAuthenticationProvider;
+import org.mosdev.template.backend.security.CorsPreflightFilter;
+import org.mosdev.template.backend.security.RouteClass;
+import org.mosdev.template.backend.security.SecurityMode;
+import org.mosdev.template.backend.security.TokenService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.ForwardedHeaderFilter;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -26,29 +52,126 @@ public class SecurityConfig {
     @Value("${application.url}")
     private String applicationURL;
 
+    // session: form login with an HTTP session, stateless: HTTP Basic or bearer tokens without a session
+    @Value("${app.security.mode:session}")
+    private SecurityMode securityMode;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   ObjectProvider<StaticAssetIndex> staticAssetIndex) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(authorize -> authorize
                 // Swagger UI and API docs are only accessible to DEVELOPER role
-                .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").hasRole("DEVELOPER")
+                // (/swagger-ui/** and /v3/api-docs/**, matched by the route class computed once per request)
+                .requestMatchers(RouteClass.DOCS.matcher()).hasRole("DEVELOPER")
+                // Tokens are issued to clients authenticated with HTTP Basic, not renewed with a bearer token
+                .requestMatchers(HttpMethod.POST, "/api/auth/token").access(SecurityConfig::passwordAuthenticated)
+                // Items are public to read; creating, bulk inserting, updating and deleting them needs a signed-in user
+                .requestMatchers(HttpMethod.GET, "/api/items/**").permitAll()
+                .requestMatchers("/api/items/**").authenticated()
+                // Background jobs are run for and only visible to the principal that submitted them
+                .requestMatchers("/api/jobs/**").authenticated()
+                // Events pushed to all event stream subscribers
+                .requestMatchers(HttpMethod.POST, "/api/events/**").hasRole("ADMIN")
+                // Health is public for load balancers; metrics and Prometheus scrapes need an administrator
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(RouteClass.ACTUATOR.matcher()).hasRole("ADMIN")
+                // Bundled frontend files
+                .requestMatchers(staticAssets(staticAssetIndex.getIfAvailable())).permitAll()
                 // All other paths are permitted (including API endpoints)
                 .anyRequest().permitAll()
-            )
-            .formLogin(form -> form
-                .permitAll()
-            )
-            .logout(logout -> logout
-                .permitAll()
             );
 
+        if (securityMode == SecurityMode.STATELESS) {
+            http
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .oauth2ResourceServer(oauth2 -> oauth2
+                    .jwt(jwt -> jwt
+                        .decoder(tokenService.decoder())
+                        .jwtAuthenticationConverter(TokenService.authenticationConverter())
+                    )
+                );
+        } else {
+            http
+                .formLogin(form -> form
+                    .permitAll()
+                )
+                .logout(logout -> logout
+                    .permitAll()
+                );
+        }
+
         return http.build();
     }
 
+    /**
+     * Username/password authentication backed by the user details service.
+     * Verified credentials are cached for a short time so HTTP Basic clients
+     * do not pay for a BCrypt verification on every request.
+     */
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${app.security.credential-cache.ttl:5m}") Duration ttl,
+            @Value("${app.security.credential-cache.maximum-size:10000}") long maximumSize) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(provider, ttl, maximumSize, meterRegistry);
+    }
+
+    /**
+     * Answers CORS preflights and classifies the route before the security filter chain runs
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.security.fast-path", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<CorsPreflightFilter> corsPreflightFilter() {
+        FilterRegistrationBean<CorsPreflightFilter> registration =
+                new FilterRegistrationBean<>(new CorsPreflightFilter(corsConfiguration()));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Grants access to principals that presented their username and password, not to bearer tokens:
+     * a token that could mint its successor would never expire
+     */
+    private static AuthorizationDecision passwordAuthenticated(Supplier<Authentication> authentication,
+                                                               RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        return new AuthorizationDecision(current != null && current.isAuthenticated()
+                && !(current instanceof AnonymousAuthenticationToken)
+                && !(current instanceof JwtAuthenticationToken));
+    }
+
+    /**
+     * Requests for the bundled frontend: {@code /assets/**} and the files of the static asset index.
+     * The decoded path is matched, so an encoded path cannot pass for an asset.
+     */
+    private static RequestMatcher staticAssets(StaticAssetIndex staticAssetIndex) {
+        return request -> {
+            if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+                return false;
+            }
+            String path = RouteClass.pathWithinApplication(request);
+            return path.startsWith("/assets/")
+                    || (staticAssetIndex != null && path.length() > 1 && staticAssetIndex.get(path.substring(1)) != null);
+        };
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    private CorsConfiguration corsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(java.util.Arrays.asList(
             "http://localhost:3000",
@@ -56,13 +179,12 @@ public class SecurityConfig {
             applicationURL
         ));
         configuration.setAllowedMethods(java.util.Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(java.util.Arrays.asList("authorization", "content-type", "x-auth-token"));
-        configuration.setExposedHeaders(java.util.Arrays.asList("x-auth-token"));
+        configuration.setAllowedHeaders(java.util.Arrays.asList("authorization", "content-type", "x-auth-token", "x-debug-metrics"));
+        configuration.setExposedHeaders(java.util.Arrays.asList("x-auth-token", "retry-after"));
         configuration.setAllowCredentials(true);
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        return source;
+        // Browsers may reuse a preflight result for 30 minutes
+        configuration.setMaxAge(1800L);
+        return configuration;
     }
 
     @Bean
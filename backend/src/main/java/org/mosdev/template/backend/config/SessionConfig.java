@@ -0,0 +1,35 @@
+package org.mosdev.template.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mosdev.template.backend.session.CachingJdbcSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+
+/**
+ * HTTP sessions in the application database instead of the servlet container, so they survive restarts and are
+ * shared by all instances. Stateless deployments ({@code app.session.store=none}) keep no sessions at all.
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class SessionConfig {
+
+    @Bean
+    public CachingJdbcSessionRepository sessionRepository(
+            JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${app.session.near-cache.maximum-size:10000}") int nearCacheMaximumSize,
+            @Value("${app.session.near-cache.time-to-live:5s}") Duration nearCacheTimeToLive,
+            @Value("${app.session.flush-interval:10s}") Duration flushInterval,
+            @Value("${app.session.initialize-schema:true}") boolean initializeSchema,
+            @Value("${app.session.sticky:false}") boolean sticky) {
+        return new CachingJdbcSessionRepository(jdbcTemplate, meterRegistry, timeout, nearCacheMaximumSize,
+                nearCacheTimeToLive, flushInterval, initializeSchema, sticky);
+    }
+}
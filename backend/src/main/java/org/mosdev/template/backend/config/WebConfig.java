@@ -0,0 +1,128 @@
+package org.mosdev.template.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mosdev.template.backend.cache.ResponseCacheInterceptor;
+import org.mosdev.template.backend.converter.ApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.converter.NdjsonHttpMessageConverter;
+import org.mosdev.template.backend.converter.StreamingApiResponseHttpMessageConverter;
+import org.mosdev.template.backend.metrics.EndpointMetricsFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configuration.
+ * HttpMessageConverter beans declared here are placed ahead of Spring Boot's default converters.
+ * ApiResponse envelopes are written as JSON by default, and as CBOR or Smile when the client
+ * asks for {@code application/cbor} or {@code application/x-jackson-smile}.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Media type of Smile, the binary JSON format of Jackson
+     */
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ResponseCacheInterceptor responseCacheInterceptor;
+
+    public WebConfig(ResponseCacheInterceptor responseCacheInterceptor) {
+        this.responseCacheInterceptor = responseCacheInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(responseCacheInterceptor);
+    }
+
+    @Bean
+    public ApiResponseJsonWriter apiResponseJsonWriter(ObjectMapper objectMapper) {
+        return new ApiResponseJsonWriter(objectMapper);
+    }
+
+    @Bean
+    public ApiResponseHttpMessageConverter apiResponseHttpMessageConverter(ApiResponseJsonWriter apiResponseJsonWriter) {
+        return new ApiResponseHttpMessageConverter(apiResponseJsonWriter);
+    }
+
+    @Bean
+    public StreamingApiResponseHttpMessageConverter streamingApiResponseHttpMessageConverter(
+            ApiResponseJsonWriter apiResponseJsonWriter, ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new StreamingApiResponseHttpMessageConverter(apiResponseJsonWriter, readOnlyTransaction(transactionManager));
+    }
+
+    @Bean
+    public ApiResponseHttpMessageConverter cborApiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ApiResponseHttpMessageConverter(cborWriter(objectMapper), MediaType.APPLICATION_CBOR);
+    }
+
+    @Bean
+    public ApiResponseHttpMessageConverter smileApiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ApiResponseHttpMessageConverter(smileWriter(objectMapper), SMILE);
+    }
+
+    @Bean
+    public StreamingApiResponseHttpMessageConverter cborStreamingApiResponseHttpMessageConverter(
+            ObjectMapper objectMapper, ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new StreamingApiResponseHttpMessageConverter(cborWriter(objectMapper), readOnlyTransaction(transactionManager),
+                MediaType.APPLICATION_CBOR);
+    }
+
+    @Bean
+    public StreamingApiResponseHttpMessageConverter smileStreamingApiResponseHttpMessageConverter(
+            ObjectMapper objectMapper, ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new StreamingApiResponseHttpMessageConverter(smileWriter(objectMapper), readOnlyTransaction(transactionManager),
+                SMILE);
+    }
+
+    @Bean
+    public NdjsonHttpMessageConverter ndjsonHttpMessageConverter(
+            ObjectMapper objectMapper, ObjectProvider<PlatformTransactionManager> transactionManager,
+            @Value("${app.export.ndjson.batch-size:500}") int batchSize) {
+        return new NdjsonHttpMessageConverter(objectMapper, readOnlyTransaction(transactionManager), batchSize);
+    }
+
+    /**
+     * Endpoint metrics run after the security filter chain, so they measure the controller and serialization
+     */
+    @Bean
+    public FilterRegistrationBean<EndpointMetricsFilter> endpointMetricsFilter(
+            MeterRegistry meterRegistry, @Value("${app.metrics.debug.enabled:false}") boolean debugEnabled) {
+        FilterRegistrationBean<EndpointMetricsFilter> registration =
+                new FilterRegistrationBean<>(new EndpointMetricsFilter(meterRegistry, debugEnabled));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    // The binary mappers share the modules and settings of the application's ObjectMapper
+    private static ApiResponseJsonWriter cborWriter(ObjectMapper objectMapper) {
+        return new ApiResponseJsonWriter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    private static ApiResponseJsonWriter smileWriter(ObjectMapper objectMapper) {
+        return new ApiResponseJsonWriter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    private static TransactionOperations readOnlyTransaction(ObjectProvider<PlatformTransactionManager> transactionManager) {
+        PlatformTransactionManager manager = transactionManager.getIfAvailable();
+        if (manager == null) {
+            return TransactionOperations.withoutTransaction();
+        }
+        TransactionTemplate template = new TransactionTemplate(manager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
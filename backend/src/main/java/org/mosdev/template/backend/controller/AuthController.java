@@ -0,0 +1,46 @@
+package org.mosdev.template.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.security.TokenService;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues bearer tokens in the stateless security mode.
+ * Clients authenticate once with HTTP Basic and send {@code Authorization: Bearer <token>} afterwards;
+ * a new token needs the username and password again (see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnProperty(name = "app.security.mode", havingValue = "stateless")
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Issue a signed token for the authenticated user
+     */
+    @PostMapping("/token")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> issueToken(Authentication authentication, HttpServletRequest request) {
+        Jwt jwt = tokenService.issue(authentication);
+
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put("accessToken", jwt.getTokenValue());
+        token.put("tokenType", "Bearer");
+        token.put("expiresAt", jwt.getExpiresAt());
+
+        return ResponseWrapper.ok(token, request.getMethod(), "Token issued successfully");
+    }
+}
@@ -0,0 +1,55 @@
+package org.mosdev.template.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.batch.BatchDispatcher;
+import org.mosdev.template.backend.batch.BatchOperation;
+import org.mosdev.template.backend.batch.BatchRequest;
+import org.mosdev.template.backend.batch.BatchResult;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Collapses several API calls into one round trip.
+ * Each sub-request is answered by the regular controller, and its ApiResponse is returned in
+ * {@code data[i].response} together with its HTTP status, in the order of the request.
+ */
+@RestController
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    /**
+     * Execute a batch of sub-requests in parallel
+     */
+    @PostMapping(BatchDispatcher.BATCH_PATH)
+    public ResponseEntity<ApiResponse<List<BatchResult>>> batch(HttpServletRequest request, @RequestBody BatchRequest batch) {
+        List<BatchOperation> operations = batch.requests() != null ? batch.requests() : List.of();
+        if (operations.size() > batchDispatcher.getMaxRequests()) {
+            return badRequest(request, "A batch holds at most " + batchDispatcher.getMaxRequests() + " requests");
+        }
+        for (BatchOperation operation : operations) {
+            String error = batchDispatcher.validate(operation);
+            if (error != null) {
+                return badRequest(request, error);
+            }
+        }
+        List<BatchResult> results = batchDispatcher.dispatch(request, operations);
+        return ResponseWrapper.ok(results, request.getMethod(), "Batch executed successfully");
+    }
+
+    private static ResponseEntity<ApiResponse<List<BatchResult>>> badRequest(HttpServletRequest request, String message) {
+        ApiResponse<List<BatchResult>> response = ApiResponse.error(HttpStatus.BAD_REQUEST, request.getMethod(), message);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,63 @@
+package org.mosdev.template.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mosdev.template.backend.exception.InvalidRequestException;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.sse.SseHub;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-sent event stream pushing ApiResponse-shaped events, instead of clients polling for changes
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final SseHub sseHub;
+
+    public EventController(SseHub sseHub) {
+        this.sseHub = sseHub;
+    }
+
+    /**
+     * Open an event stream. Browsers send {@code Last-Event-ID} when they reconnect; {@code lastEventId}
+     * does the same for clients that reconnect by hand. {@code topics} limits the stream to some event names.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void subscribe(HttpServletRequest request, HttpServletResponse response,
+                          @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventIdHeader,
+                          @RequestParam(name = "lastEventId", required = false) String lastEventIdParam,
+                          @RequestParam(required = false) Set<String> topics) throws IOException {
+        if (!request.isAsyncSupported()) {
+            throw new InvalidRequestException("Event streams need their own connection");
+        }
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        sseHub.subscribe(request, response, parseEventId(lastEventId), topics);
+    }
+
+    /**
+     * Publish an event to the subscribers of a topic (ADMIN only); the request body becomes the event data
+     */
+    @PostMapping("/{topic}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> publish(HttpServletRequest request, @PathVariable String topic,
+                                                                    @RequestBody(required = false) Object data) {
+        String id = sseHub.publish(topic, ApiResponse.success(data, request.getMethod(), "Event published to " + topic));
+        return ResponseWrapper.ok(Map.of("id", id, "subscribers", sseHub.getSubscriberCount()),
+                request.getMethod(), "Event published successfully");
+    }
+
+    // Ids the hub did not issue are answered with a reset event
+    private static String parseEventId(String lastEventId) {
+        return lastEventId == null || lastEventId.isBlank() ? null : lastEventId.trim();
+    }
+}
@@ -0,0 +1,133 @@
+package org.mosdev.template.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.mosdev.template.backend.entity.Item;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.pagination.KeysetPageRequest;
+import org.mosdev.template.backend.pagination.RowCountEstimator;
+import org.mosdev.template.backend.repository.ItemRepository;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.mosdev.template.backend.validation.BulkValidator;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * CRUD endpoints for the sample {@link Item} entity, backed by the JPA second-level and query caches
+ */
+@RestController
+@RequestMapping("/api/items")
+public class ItemController {
+
+    private static final Sort PAGE_SORT = Sort.by("name", "id");
+
+    private final ItemRepository itemRepository;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    private final BulkValidator bulkValidator;
+
+    public ItemController(ItemRepository itemRepository, RowCountEstimator rowCountEstimator, BulkValidator bulkValidator) {
+        this.itemRepository = itemRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.bulkValidator = bulkValidator;
+    }
+
+    /**
+     * Find items by name (query cache)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<Item>>> findItems(HttpServletRequest request,
+                                                             @RequestParam(defaultValue = "") String name) {
+        List<Item> items = itemRepository.findByNameContainingIgnoreCaseOrderByNameAsc(name);
+        return ResponseWrapper.ok(items, request.getMethod(), "Items retrieved successfully");
+    }
+
+    /**
+     * Page through items by name with keyset pagination.
+     * Pass the {@code nextCursor} metadata of a page as {@code cursor} to get the next one;
+     * the first page also carries an estimated total when no name filter is given.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<List<Item>>> pageItems(HttpServletRequest request,
+                                                             @RequestParam(defaultValue = "") String name,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, PAGE_SORT);
+        Window<Item> items = itemRepository.findByNameContainingIgnoreCase(name, page.position(), page.limit(), page.sort());
+        Long estimatedTotal = page.isFirstPage() && name.isEmpty() ? rowCountEstimator.estimate("items") : null;
+        return ResponseWrapper.page(items, estimatedTotal, request.getMethod(), "Items retrieved successfully");
+    }
+
+    /**
+     * Get an item by id (second-level cache)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Item>> getItem(HttpServletRequest request, @PathVariable long id) {
+        return itemRepository.findById(id)
+                .map(item -> ResponseWrapper.ok(item, request.getMethod(), "Item retrieved successfully"))
+                .orElseGet(() -> notFound(request, id));
+    }
+
+    /**
+     * Create an item
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<Item>> createItem(HttpServletRequest request, @Valid @RequestBody Item item) {
+        Item created = itemRepository.save(new Item(item.getName(), item.getDescription(), item.getPrice()));
+        return ResponseWrapper.created(created, request.getMethod(), "Item created successfully");
+    }
+
+    /**
+     * Create many items at once.
+     * All items are validated before anything is written; errors are reported as {@code items[i].field}.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<Integer>> createItems(HttpServletRequest request, @RequestBody List<Item> items) {
+        bulkValidator.validateOrThrow("items", items);
+        List<Item> created = itemRepository.saveAll(items.stream()
+                .map(item -> new Item(item.getName(), item.getDescription(), item.getPrice()))
+                .toList());
+        return ResponseWrapper.created(created.size(), request.getMethod(), "Items created successfully");
+    }
+
+    /**
+     * Update an item
+     */
+    @PutMapping("/{id}")
+    @Transactional
+    public ResponseEntity<ApiResponse<Item>> updateItem(HttpServletRequest request, @PathVariable long id,
+                                                        @Valid @RequestBody Item changes) {
+        return itemRepository.findById(id)
+                .map(item -> {
+                    item.setName(changes.getName());
+                    item.setDescription(changes.getDescription());
+                    item.setPrice(changes.getPrice());
+                    return ResponseWrapper.ok(item, request.getMethod(), "Item updated successfully");
+                })
+                .orElseGet(() -> notFound(request, id));
+    }
+
+    /**
+     * Delete an item
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Item>> deleteItem(HttpServletRequest request, @PathVariable long id) {
+        if (!itemRepository.existsById(id)) {
+            return notFound(request, id);
+        }
+        itemRepository.deleteById(id);
+        return ResponseWrapper.ok(null, request.getMethod(), "Item deleted successfully");
+    }
+
+    private static ResponseEntity<ApiResponse<Item>> notFound(HttpServletRequest request, long id) {
+        ApiResponse<Item> response = ApiResponse.error(HttpStatus.NOT_FOUND, request.getMethod(), "Item not found: " + id);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+}
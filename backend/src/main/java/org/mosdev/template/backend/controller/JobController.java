@@ -0,0 +1,102 @@
+package org.mosdev.template.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.entity.Job;
+import org.mosdev.template.backend.job.JobService;
+import org.mosdev.template.backend.job.JobView;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Background jobs: submit work, then read or wait for its outcome.
+ * Only authenticated principals can submit jobs; a job is only visible to its principal and to admins.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    private final Duration maxWait;
+
+    public JobController(JobService jobService, @Value("${app.jobs.max-wait:30s}") Duration maxWait) {
+        this.jobService = jobService;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Submit a job of the given type; the request body is passed to the job as its payload.
+     * Answers 202 with the job id in the metadata and the status URL in the Location header.
+     */
+    @PostMapping("/{type}")
+    public ResponseEntity<ApiResponse<JobView>> submit(HttpServletRequest request, @PathVariable String type,
+                                                       @RequestBody(required = false) JsonNode payload) {
+        Job job = jobService.submit(type, payload, principalName(request));
+        URI location = ServletUriComponentsBuilder.fromContextPath(request)
+                .path("/api/jobs/{id}").buildAndExpand(job.getId()).toUri();
+        return ResponseWrapper.accepted(jobService.view(job), location, request.getMethod(), "Job accepted for processing",
+                Map.of("jobId", job.getId(),
+                        "statusUrl", location.getPath(),
+                        "awaitUrl", location.getPath() + "/await"));
+    }
+
+    /**
+     * Get the current state of a job
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<JobView>> getJob(HttpServletRequest request, @PathVariable String id) {
+        Job job = jobService.find(id, principalName(request), request.isUserInRole("ADMIN"));
+        return ResponseWrapper.ok(jobService.view(job), request.getMethod(), "Job retrieved successfully");
+    }
+
+    /**
+     * Long-poll for the outcome of a job: answers as soon as the job finishes, or with its current state
+     * after {@code timeout} seconds (at most {@code app.jobs.max-wait}). No request thread is held while waiting.
+     */
+    @GetMapping("/{id}/await")
+    public DeferredResult<ResponseEntity<ApiResponse<JobView>>> awaitJob(HttpServletRequest request, @PathVariable String id,
+                                                                         @RequestParam(defaultValue = "30") long timeout) {
+        String owner = principalName(request);
+        boolean admin = request.isUserInRole("ADMIN");
+        String method = request.getMethod();
+        long timeoutMillis = Math.min(Duration.ofSeconds(Math.max(timeout, 1)).toMillis(), maxWait.toMillis());
+
+        DeferredResult<ResponseEntity<ApiResponse<JobView>>> result = new DeferredResult<>(timeoutMillis);
+        CompletableFuture<Job> finished = jobService.awaitFinished(id);
+        try {
+            Job job = jobService.find(id, owner, admin);
+            if (job.getStatus().isFinished()) {
+                jobService.cancelWait(id, finished);
+                result.setResult(ResponseWrapper.ok(jobService.view(job), method, "Job finished"));
+                return result;
+            }
+        } catch (RuntimeException e) {
+            jobService.cancelWait(id, finished);
+            throw e;
+        }
+
+        // Jobs finished by another instance are not signalled; the timeout then answers with the stored state
+        finished.thenAccept(job -> result.setResult(ResponseWrapper.ok(jobService.view(job), method, "Job finished")));
+        result.onTimeout(() -> result.setResult(ResponseWrapper.ok(
+                jobService.view(jobService.find(id, owner, admin)), method, "Job not finished yet")));
+        result.onCompletion(() -> jobService.cancelWait(id, finished));
+        return result;
+    }
+
+    private static String principalName(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : null;
+    }
+}
@@ -1,15 +1,22 @@
 package org.mosdev.template.backend.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.cache.CachedResponse;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
 import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.model.NdjsonStream;
+import org.mosdev.template.backend.model.StreamingApiResponse;
 import org.mosdev.template.backend.util.ResponseWrapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
 
 /**
  * Test controller to demonstrate the use of ApiResponse and ResponseWrapper.
@@ -19,6 +26,11 @@ import java.util.Map;
 @RequestMapping("/api/test")
 public class TestController {
 
+    /**
+     * Largest number of rows served by the streaming test endpoints
+     */
+    static final long MAX_ROWS = 100_000;
+
     /**
      * Test endpoint that returns a successful response
      */
@@ -31,6 +43,7 @@ public class TestController {
      * Test endpoint that returns a response with data
      */
     @GetMapping("/data")
+    @CachedResponse(ttlSeconds = 30)
     public ResponseEntity<ApiResponse<Map<String, Object>>> getDataResponse(HttpServletRequest request) {
         Map<String, Object> data = new HashMap<>();
         data.put("name", "Test User");
@@ -44,6 +57,7 @@ public class TestController {
      * Test endpoint that returns a response with metadata
      */
     @GetMapping("/metadata")
+    @CachedResponse(ttlSeconds = 30)
     public ResponseEntity<ApiResponse<String>> getMetadataResponse(HttpServletRequest request) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("version", "1.0.0");
@@ -88,10 +102,69 @@ public class TestController {
     }
 
     /**
-     * Test endpoint that throws an exception to demonstrate error handling
+     * Test endpoint that blocks the request thread, simulating a slow JDBC call.
+     * With {@code pinned=true} the wait happens inside a {@code synchronized} block,
+     * which pins a virtual thread to its carrier like a driver holding a monitor.
+     */
+    @GetMapping("/blocking")
+    public ResponseEntity<ApiResponse<String>> getBlockingResponse(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "50") long millis,
+            @RequestParam(defaultValue = "false") boolean pinned) throws InterruptedException {
+        long sleepMillis = Math.min(Math.max(millis, 0), 5000);
+        if (pinned) {
+            // Lock on the request itself: a per-request monitor, so concurrent requests do not contend
+            synchronized (request) {
+                Thread.sleep(sleepMillis);
+            }
+        } else {
+            Thread.sleep(sleepMillis);
+        }
+        return ResponseWrapper.ok("Blocked for " + sleepMillis + " ms", request.getMethod(), "Blocking call completed");
+    }
+
+    /**
+     * Test endpoint that streams a large number of synthetic rows in the response envelope,
+     * at most {@value #MAX_ROWS}
+     */
+    @GetMapping("/large")
+    public ResponseEntity<StreamingApiResponse<SyntheticRow>> getLargeResponse(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "10000") long rows) {
+        return ResponseWrapper.stream(
+            LongStream.range(0, Math.min(Math.max(rows, 0), MAX_ROWS)).mapToObj(SyntheticRow::of),
+            request.getMethod(),
+            "Rows streamed successfully"
+        );
+    }
+
+    /**
+     * Test endpoint that exports synthetic records as newline-delimited JSON, at most {@value #MAX_ROWS}
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<NdjsonStream<SyntheticRow>> getNdjsonStream(
+            @RequestParam(defaultValue = "1000") long count,
+            @RequestParam(defaultValue = "0") int batchSize) {
+        return ResponseWrapper.ndjson(
+            LongStream.range(0, Math.min(Math.max(count, 0), MAX_ROWS)).mapToObj(SyntheticRow::of), batchSize);
+    }
+
+    /**
+     * Test endpoint that throws an exception to demonstrate error handling.
+     * The failure is expected, so the exception skips capturing a stack trace.
      */
     @GetMapping("/error")
     public ResponseEntity<ApiResponse<String>> getErrorResponse() {
-        throw new RuntimeException("This is a test exception");
+        throw new ApplicationException(ErrorCode.INTERNAL_ERROR, "This is a test exception", null, false);
+    }
+
+    /**
+     * Synthetic record used by the streaming test endpoints
+     */
+    public record SyntheticRow(long id, String name, String email) {
+
+        static SyntheticRow of(long id) {
+            return new SyntheticRow(id, "User " + id, "user" + id + "@example.com");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * HTTP message converter that writes ApiResponse envelopes directly to the output stream
+ * through an {@link ApiResponseJsonWriter}, without reflective bean serialization.
+ * The output format follows the writer's ObjectMapper, so the same converter writes JSON,
+ * CBOR or Smile for the media types it is created with.
+ * Reading is left to the regular Jackson converter.
+ */
+public class ApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<ApiResponse<?>> {
+
+    private final ApiResponseJsonWriter writer;
+
+    public ApiResponseHttpMessageConverter(ApiResponseJsonWriter writer) {
+        this(writer, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    /**
+     * @param writer              The envelope writer, producing the format of the media types
+     * @param supportedMediaTypes The media types written by this converter
+     */
+    public ApiResponseHttpMessageConverter(ApiResponseJsonWriter writer, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.writer = writer;
+    }
+
+    /**
+     * Get the envelope writer
+     *
+     * @return The writer used by this converter
+     */
+    public ApiResponseJsonWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is write-only for this converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = writer.createGenerator(outputMessage.getBody())) {
+            writer.writeEnvelope(generator, response);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Writes the ApiResponse envelope field by field to a JsonGenerator.
+ * The envelope fields are written with pre-encoded field names and a cached timestamp,
+ * only {@code data} and non-empty {@code metadata} are delegated to the ObjectMapper.
+ * The output is byte-identical to serializing the ApiResponse with the same ObjectMapper.
+ * With an ObjectMapper for a binary format (e.g. {@code objectMapper.copyWith(new CBORFactory())})
+ * the same envelope is written as CBOR or Smile.
+ */
+public class ApiResponseJsonWriter {
+
+    static final SerializableString CODE = new SerializedString("code");
+    static final SerializableString METHOD = new SerializedString("method");
+    static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializableString SUCCESS = new SerializedString("success");
+    static final SerializableString MESSAGE = new SerializedString("message");
+    static final SerializableString DATA = new SerializedString("data");
+    static final SerializableString METADATA = new SerializedString("metadata");
+
+    private final ObjectMapper objectMapper;
+
+    private final TimestampCache timestampCache = new TimestampCache();
+
+    public ApiResponseJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a UTF-8 generator for the given stream; closing the generator leaves the stream open
+     *
+     * @param outputStream The stream to write to
+     * @return A new JsonGenerator configured like the ObjectMapper
+     * @throws IOException If the generator cannot be created
+     */
+    public JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return objectMapper.createGenerator(StreamUtils.nonClosing(outputStream), JsonEncoding.UTF8);
+    }
+
+    /**
+     * Write a complete envelope
+     *
+     * @param generator The generator to write to
+     * @param response  The response to write
+     * @throws IOException If writing fails
+     */
+    public void writeEnvelope(JsonGenerator generator, ApiResponse<?> response) throws IOException {
+        writeHeader(generator, response.getCode(), response.getMethod(), response.getTimestamp(),
+                response.isSuccess(), response.getMessage());
+        generator.writeFieldName(DATA);
+        generator.writeObject(response.getData());
+        writeMetadata(generator, response.getMetadata());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Open the envelope object and write the fields preceding {@code data}
+     *
+     * @param generator The generator to write to
+     * @param code      The HTTP status code
+     * @param method    The HTTP method used
+     * @param timestamp The response timestamp
+     * @param success   Whether the request was successful
+     * @param message   Additional message
+     * @throws IOException If writing fails
+     */
+    public void writeHeader(JsonGenerator generator, int code, String method, LocalDateTime timestamp,
+                            boolean success, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CODE);
+        generator.writeNumber(code);
+        generator.writeFieldName(METHOD);
+        generator.writeString(method);
+        generator.writeFieldName(TIMESTAMP);
+        if (timestamp != null) {
+            generator.writeString(timestampCache.format(timestamp));
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(SUCCESS);
+        generator.writeBoolean(success);
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(message);
+    }
+
+    /**
+     * Write the {@code metadata} field; an empty map is written without touching the ObjectMapper
+     *
+     * @param generator The generator to write to
+     * @param metadata  The metadata to write
+     * @throws IOException If writing fails
+     */
+    public void writeMetadata(JsonGenerator generator, Map<String, Object> metadata) throws IOException {
+        generator.writeFieldName(METADATA);
+        if (metadata.isEmpty()) {
+            generator.writeStartObject();
+            generator.writeEndObject();
+        } else {
+            generator.writeObject(metadata);
+        }
+    }
+}
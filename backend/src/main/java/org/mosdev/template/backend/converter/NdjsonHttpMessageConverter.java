@@ -0,0 +1,102 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mosdev.template.backend.model.NdjsonStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * HTTP message converter that writes an {@link NdjsonStream} as one JSON document per line.
+ * The output is flushed after every batch; the flush blocks while the client is not reading,
+ * which stops pulling records from the source until the client has caught up.
+ */
+public class NdjsonHttpMessageConverter extends AbstractHttpMessageConverter<NdjsonStream<?>> {
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionOperations readOnlyTransaction;
+
+    private final int defaultBatchSize;
+
+    /**
+     * @param objectMapper        The ObjectMapper used to write each record
+     * @param readOnlyTransaction Transaction used for sources that require one, e.g. JPA repository streams
+     * @param defaultBatchSize    Number of records written between two flushes
+     */
+    public NdjsonHttpMessageConverter(ObjectMapper objectMapper, TransactionOperations readOnlyTransaction, int defaultBatchSize) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.defaultBatchSize = Math.max(defaultBatchSize, 1);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return NdjsonStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected NdjsonStream<?> readInternal(Class<? extends NdjsonStream<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("NdjsonStream is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(NdjsonStream<?> export, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        if (!export.isReadOnlyTransaction()) {
+            write(export, body);
+            return;
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    write(export, body);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private <T> void write(NdjsonStream<T> export, OutputStream body) throws IOException {
+        int batchSize = export.getBatchSize() > 0 ? export.getBatchSize() : defaultBatchSize;
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(body), JsonEncoding.UTF8);
+             Stream<T> stream = export.getSource().get()) {
+            // Each record is a root-level value terminated by a newline instead of the default separator
+            generator.setPrettyPrinter(null);
+            generator.setRootValueSeparator(null);
+            int pending = 0;
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T record = iterator.next();
+                generator.writeObject(record);
+                generator.writeRaw('\n');
+                export.getAfterWrite().accept(record);
+                if (++pending == batchSize) {
+                    generator.flush();
+                    pending = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.mosdev.template.backend.model.StreamingApiResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * HTTP message converter that writes a {@link StreamingApiResponse} while its source is consumed.
+ * The header fields are written first, {@code data} is written as a JSON array one element at a time
+ * and {@code metadata} closes the envelope with the row count and the elapsed time.
+ * Only the generator buffer is held in memory, regardless of the number of elements.
+ */
+public class StreamingApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<StreamingApiResponse<?>> {
+
+    private final ApiResponseJsonWriter writer;
+
+    private final TransactionOperations readOnlyTransaction;
+
+    /**
+     * @param writer              The envelope writer
+     * @param readOnlyTransaction Transaction used for sources that require one, e.g. JPA repository streams
+     */
+    public StreamingApiResponseHttpMessageConverter(ApiResponseJsonWriter writer, TransactionOperations readOnlyTransaction) {
+        this(writer, readOnlyTransaction, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    /**
+     * @param writer              The envelope writer, producing the format of the media types
+     * @param readOnlyTransaction Transaction used for sources that require one, e.g. JPA repository streams
+     * @param supportedMediaTypes The media types written by this converter
+     */
+    public StreamingApiResponseHttpMessageConverter(ApiResponseJsonWriter writer, TransactionOperations readOnlyTransaction,
+                                                    MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.writer = writer;
+        this.readOnlyTransaction = readOnlyTransaction;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamingApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamingApiResponse<?> readInternal(Class<? extends StreamingApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StreamingApiResponse is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamingApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        if (!response.isReadOnlyTransaction()) {
+            write(response, body);
+            return;
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    write(response, body);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private <T> void write(StreamingApiResponse<T> response, OutputStream body) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+        try (JsonGenerator generator = writer.createGenerator(body);
+             Stream<T> stream = response.getSource().get()) {
+            writer.writeHeader(generator, response.getCode(), response.getMethod(), response.getTimestamp(),
+                    response.isSuccess(), response.getMessage());
+            generator.writeFieldName(ApiResponseJsonWriter.DATA);
+            generator.writeStartArray();
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T element = iterator.next();
+                generator.writeObject(element);
+                response.getAfterWrite().accept(element);
+                count++;
+            }
+            generator.writeEndArray();
+            generator.writeFieldName(ApiResponseJsonWriter.METADATA);
+            generator.writeStartObject();
+            generator.writeNumberField("count", count);
+            generator.writeNumberField("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.mosdev.template.backend.model.ApiResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats ApiResponse timestamps with {@link ApiResponse#TIMESTAMP_PATTERN}.
+ * The pattern has a resolution of one second, so the rendered value is cached
+ * and only formatted again when the second changes.
+ */
+public class TimestampCache {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(ApiResponse.TIMESTAMP_PATTERN);
+
+    private volatile Entry last = new Entry(Long.MIN_VALUE, null);
+
+    /**
+     * Get the formatted timestamp as a pre-encoded JSON string
+     *
+     * @param timestamp The timestamp to format
+     * @return The formatted timestamp
+     */
+    public SerializableString format(LocalDateTime timestamp) {
+        long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+        Entry entry = last;
+        if (entry.second() != second) {
+            entry = new Entry(second, new SerializedString(FORMATTER.format(timestamp)));
+            last = entry;
+        }
+        return entry.text();
+    }
+
+    private record Entry(long second, SerializableString text) {
+    }
+}
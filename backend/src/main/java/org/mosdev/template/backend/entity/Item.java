@@ -0,0 +1,70 @@
+package org.mosdev.template.backend.entity;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Sample entity held in the second-level cache.
+ * The cache region is sized with {@code app.jpa-cache.*}; reads by id after the first one do not reach the database.
+ * The (name, id) index serves the keyset-paginated listing.
+ */
+@Entity
+@Table(name = "items", indexes = @Index(name = "idx_items_name_id", columnList = "name, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
+@Getter
+@Setter
+@NoArgsConstructor
+public class Item {
+
+    /**
+     * Second-level cache region of the entity
+     */
+    public static final String CACHE_REGION = "items";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String name;
+
+    @Size(max = 255)
+    private String description;
+
+    @DecimalMin("0.00")
+    @Digits(integer = 10, fraction = 2)
+    @Column(precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Version
+    private long version;
+
+    public Item(String name, String description, BigDecimal price) {
+        this.name = name;
+        this.description = description;
+        this.price = price;
+    }
+}
@@ -0,0 +1,99 @@
+package org.mosdev.template.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.mosdev.template.backend.job.JobStatus;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Background job submitted through {@code POST /api/jobs/{type}}.
+ * The table is the durable backlog: queued jobs survive restarts, and status changes are made with
+ * conditional updates, so a job is claimed by one worker only. The (status, created_at) index
+ * serves the oldest-first reads of queued jobs.
+ * <p>
+ * Ids are assigned on creation; {@link Persistable} lets {@code save} persist new jobs without
+ * the select that {@code merge} would run first.
+ */
+@Entity
+@Table(name = "jobs", indexes = @Index(name = "idx_jobs_status_created", columnList = "status, created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class Job implements Persistable<String> {
+
+    /**
+     * Longest error message stored
+     */
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    @Column(length = 255)
+    private String owner;
+
+    @Lob
+    private String payload;
+
+    @Lob
+    private String result;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Transient
+    private boolean created;
+
+    public Job(String type, String owner, String payload) {
+        this.id = UUID.randomUUID().toString();
+        this.type = type;
+        this.owner = owner;
+        this.payload = payload;
+        this.status = JobStatus.QUEUED;
+        this.createdAt = Instant.now();
+        this.created = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.created = false;
+    }
+}
@@ -0,0 +1,54 @@
+package org.mosdev.template.backend.exception;
+
+/**
+ * Base class of the exceptions the application throws on purpose.
+ * {@link GlobalExceptionHandler} answers them with the status of their {@link ErrorCode}.
+ * Client errors do not capture a stack trace, which is most of the cost of throwing an exception.
+ */
+public class ApplicationException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public ApplicationException(ErrorCode errorCode) {
+        this(errorCode, errorCode.defaultMessage(), null, errorCode.capturesStackTrace());
+    }
+
+    public ApplicationException(ErrorCode errorCode, String message) {
+        this(errorCode, message, null, errorCode.capturesStackTrace());
+    }
+
+    public ApplicationException(ErrorCode errorCode, String message, Throwable cause) {
+        this(errorCode, message, cause, errorCode.capturesStackTrace());
+    }
+
+    /**
+     * Create an exception, choosing whether a stack trace is captured
+     *
+     * @param errorCode         The error code
+     * @param message           The message sent to the client
+     * @param cause             The cause, or null
+     * @param captureStackTrace Whether the stack trace is captured
+     */
+    public ApplicationException(ErrorCode errorCode, String message, Throwable cause, boolean captureStackTrace) {
+        super(message, cause, captureStackTrace, captureStackTrace);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Get the error code
+     *
+     * @return The error code
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Check whether the message is the default message of the error code
+     *
+     * @return True if the response can be served from the pre-rendered envelope
+     */
+    public boolean hasDefaultMessage() {
+        return errorCode.defaultMessage().equals(getMessage());
+    }
+}
@@ -0,0 +1,58 @@
+package org.mosdev.template.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Application error codes.
+ * Each code has a fixed HTTP status and a default message; responses carrying the default message
+ * are rendered once per HTTP method and served from pre-serialized bytes.
+ * The code is returned to clients in the {@code errorCode} metadata entry.
+ */
+public enum ErrorCode {
+
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "Bad request"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Validation failed"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Invalid cursor"),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "Access denied"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Resource not found"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please retry later");
+
+    private final HttpStatus status;
+
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status, String defaultMessage) {
+        this.status = status;
+        this.defaultMessage = defaultMessage;
+    }
+
+    /**
+     * Get the HTTP status of the error
+     *
+     * @return The HTTP status
+     */
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * Get the message sent when no specific message is given
+     *
+     * @return The default message
+     */
+    public String defaultMessage() {
+        return defaultMessage;
+    }
+
+    /**
+     * Check whether exceptions with this code capture a stack trace by default.
+     * Client errors are expected and frequent, their stack traces are never looked at.
+     *
+     * @return True for server errors
+     */
+    public boolean capturesStackTrace() {
+        return status.is5xxServerError();
+    }
+}
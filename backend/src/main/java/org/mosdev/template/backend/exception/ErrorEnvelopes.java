@@ -0,0 +1,145 @@
+package org.mosdev.template.backend.exception;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.converter.TimestampCache;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized error envelopes, one per error code and HTTP method.
+ * Only the timestamp differs between two responses for the same (code, method), so the envelope
+ * is rendered once, split around the timestamp, and each response copies the two halves and the
+ * cached timestamp into one array. No ApiResponse, map or JSON generator is created per error.
+ */
+@Component
+public class ErrorEnvelopes {
+
+    /**
+     * Metadata entry holding the error code
+     */
+    public static final String ERROR_CODE_METADATA = "errorCode";
+
+    private static final Set<String> CACHED_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+    // Rendered in place of the timestamp to find where the envelope is split
+    private static final LocalDateTime PLACEHOLDER_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0, 0);
+
+    private final ApiResponseJsonWriter writer;
+
+    private final TimestampCache timestampCache = new TimestampCache();
+
+    private final Map<ErrorCode, Map<String, Envelope>> envelopes = new EnumMap<>(ErrorCode.class);
+
+    public ErrorEnvelopes(ApiResponseJsonWriter writer) {
+        this.writer = writer;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            envelopes.put(errorCode, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Build the error response for an error code with its default message
+     *
+     * @param errorCode The error code
+     * @param method    The HTTP method of the request
+     * @return The response with the serialized envelope
+     */
+    public ResponseEntity<byte[]> render(ErrorCode errorCode, String method) {
+        return ResponseEntity.status(errorCode.status())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body(errorCode, method));
+    }
+
+    /**
+     * Get the serialized envelope for an error code with its default message, e.g. to write it from a filter
+     *
+     * @param errorCode The error code
+     * @param method    The HTTP method of the request
+     * @return The JSON body
+     */
+    public byte[] body(ErrorCode errorCode, String method) {
+        if (method != null && CACHED_METHODS.contains(method)) {
+            return envelopes.get(errorCode).computeIfAbsent(method, key -> prerender(errorCode, key))
+                    .withTimestamp(timestampCache.format(LocalDateTime.now()).asUnquotedUTF8());
+        }
+        return serialize(envelope(errorCode, method, errorCode.defaultMessage()));
+    }
+
+    /**
+     * Build an error envelope carrying the error code in its metadata
+     *
+     * @param errorCode The error code
+     * @param method    The HTTP method of the request
+     * @param message   The message sent to the client
+     * @return A new ApiResponse
+     */
+    public static ApiResponse<Object> envelope(ErrorCode errorCode, String method, String message) {
+        ApiResponse<Object> response = ApiResponse.error(errorCode.status(), method, message);
+        response.addMetadata(ERROR_CODE_METADATA, errorCode.name());
+        return response;
+    }
+
+    private Envelope prerender(ErrorCode errorCode, String method) {
+        ApiResponse<Object> response = envelope(errorCode, method, errorCode.defaultMessage());
+        response.setTimestamp(PLACEHOLDER_TIMESTAMP);
+        byte[] rendered = serialize(response);
+        byte[] placeholder = timestampCache.format(PLACEHOLDER_TIMESTAMP).asUnquotedUTF8();
+        int split = indexOf(rendered, placeholder);
+        if (split < 0) {
+            throw new IllegalStateException("Timestamp not found in the rendered error envelope");
+        }
+        return new Envelope(Arrays.copyOfRange(rendered, 0, split),
+                Arrays.copyOfRange(rendered, split + placeholder.length, rendered.length));
+    }
+
+    private byte[] serialize(ApiResponse<?> response) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            try (JsonGenerator generator = writer.createGenerator(buffer)) {
+                writer.writeEnvelope(generator, response);
+            }
+            return buffer.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private record Envelope(byte[] prefix, byte[] suffix) {
+
+        byte[] withTimestamp(byte[] timestamp) {
+            byte[] body = new byte[prefix.length + timestamp.length + suffix.length];
+            System.arraycopy(prefix, 0, body, 0, prefix.length);
+            System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+            System.arraycopy(suffix, 0, body, prefix.length + timestamp.length, suffix.length);
+            return body;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.mosdev.template.backend.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts and logs the errors answered by {@link GlobalExceptionHandler}.
+ * Every error increments {@code api.errors} tagged with the error code, status and exception type.
+ * Log lines are rate limited per (error code, exception type): at most {@code app.errors.log.limit}
+ * lines per {@code app.errors.log.interval}; the next line after a quiet period reports how many were dropped.
+ * Server errors are logged at ERROR with their stack trace, client errors at DEBUG without it.
+ */
+@Slf4j
+@Component
+public class ErrorReporter {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int logLimit;
+
+    private final long logIntervalNanos;
+
+    private final ConcurrentMap<Class<?>, Counter[]> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, LogWindow[]> logWindows = new ConcurrentHashMap<>();
+
+    public ErrorReporter(MeterRegistry meterRegistry,
+                         @Value("${app.errors.log.limit:10}") int logLimit,
+                         @Value("${app.errors.log.interval:1m}") Duration logInterval) {
+        this.meterRegistry = meterRegistry;
+        this.logLimit = logLimit;
+        this.logIntervalNanos = logInterval.toNanos();
+    }
+
+    /**
+     * Count an error and log it unless the rate limit for its kind has been reached
+     *
+     * @param errorCode The error code answered
+     * @param ex        The exception
+     * @param method    The HTTP method of the request
+     * @param uri       The request URI
+     */
+    public void report(ErrorCode errorCode, Throwable ex, String method, String uri) {
+        counter(errorCode, ex.getClass()).increment();
+
+        boolean serverError = errorCode.status().is5xxServerError();
+        if (!serverError && !log.isDebugEnabled()) {
+            return;
+        }
+        long suppressed = logWindow(errorCode, ex.getClass()).tryAcquire(System.nanoTime());
+        if (suppressed < 0) {
+            return;
+        }
+        if (serverError) {
+            log.error("{} {} failed with {} ({} similar errors not logged)", method, uri, errorCode, suppressed, ex);
+        } else {
+            log.debug("{} {} answered {}: {} ({} similar errors not logged)", method, uri, errorCode, ex.toString(), suppressed);
+        }
+    }
+
+    private Counter counter(ErrorCode errorCode, Class<?> type) {
+        Counter[] byCode = counters.computeIfAbsent(type, key -> new Counter[ErrorCode.values().length]);
+        Counter counter = byCode[errorCode.ordinal()];
+        if (counter == null) {
+            // Registration is idempotent, so racing threads end up with the same counter
+            counter = Counter.builder("api.errors")
+                    .description("Errors answered by the global exception handler")
+                    .tag("code", errorCode.name())
+                    .tag("status", Integer.toString(errorCode.status().value()))
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry);
+            byCode[errorCode.ordinal()] = counter;
+        }
+        return counter;
+    }
+
+    private LogWindow logWindow(ErrorCode errorCode, Class<?> type) {
+        LogWindow[] byCode = logWindows.computeIfAbsent(type, key -> new LogWindow[ErrorCode.values().length]);
+        LogWindow window = byCode[errorCode.ordinal()];
+        if (window == null) {
+            synchronized (byCode) {
+                window = byCode[errorCode.ordinal()];
+                if (window == null) {
+                    window = new LogWindow();
+                    byCode[errorCode.ordinal()] = window;
+                }
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Fixed window counting the log lines of one kind of error
+     */
+    private final class LogWindow {
+
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+
+        private final AtomicInteger logged = new AtomicInteger();
+
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * Try to log one line
+         *
+         * @param now The current time in nanoseconds
+         * @return The number of lines dropped since the last logged one, or -1 if this line must be dropped
+         */
+        long tryAcquire(long now) {
+            long windowStart = start.get();
+            if (now - windowStart >= logIntervalNanos && start.compareAndSet(windowStart, now)) {
+                logged.set(0);
+            }
+            if (logged.incrementAndGet() > logLimit) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
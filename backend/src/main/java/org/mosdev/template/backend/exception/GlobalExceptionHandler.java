@@ -1,37 +1,75 @@
 package org.mosdev.template.backend.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.mosdev.template.backend.metrics.EndpointMetricsFilter;
 import org.mosdev.template.backend.model.ApiResponse;
-import org.springframework.http.HttpStatus;
+import org.mosdev.template.backend.validation.BulkValidationException;
+import org.mosdev.template.backend.validation.BulkValidationResult;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Global exception handler to standardize error responses across the application.
  * This class ensures that all exceptions are converted to ApiResponse objects.
+ * <p>
+ * Errors answered with the default message of their {@link ErrorCode} are served from
+ * pre-rendered envelopes (see {@link ErrorEnvelopes}), so a burst of 404s or failing calls
+ * costs little more than copying bytes. Every error is counted and logged through {@link ErrorReporter}.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ErrorEnvelopes errorEnvelopes;
+
+    private final ErrorReporter errorReporter;
+
+    private final boolean includeMessage;
+
+    public GlobalExceptionHandler(ErrorEnvelopes errorEnvelopes, ErrorReporter errorReporter,
+                                  @Value("${app.errors.include-message:false}") boolean includeMessage) {
+        this.errorEnvelopes = errorEnvelopes;
+        this.errorReporter = errorReporter;
+        this.includeMessage = includeMessage;
+    }
+
     /**
      * Handle general exceptions
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ApiResponse<Object>> handleException(Exception ex, HttpServletRequest request) {
-        ApiResponse<Object> response = ApiResponse.error(
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                request.getMethod(),
-                "An unexpected error occurred: " + ex.getMessage()
-        );
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<?> handleException(Exception ex, HttpServletRequest request) {
+        errorReporter.report(ErrorCode.INTERNAL_ERROR, ex, request.getMethod(), request.getRequestURI());
+        // Exception messages may expose internals, they are only sent when explicitly enabled (dev profile)
+        if (includeMessage) {
+            return dynamic(ErrorCode.INTERNAL_ERROR, request, "An unexpected error occurred: " + ex.getMessage());
+        }
+        return prerendered(ErrorCode.INTERNAL_ERROR, request);
+    }
+
+    /**
+     * Handle exceptions thrown on purpose by the application
+     */
+    @ExceptionHandler(ApplicationException.class)
+    public ResponseEntity<?> handleApplicationException(ApplicationException ex, HttpServletRequest request) {
+        ErrorCode errorCode = ex.getErrorCode();
+        errorReporter.report(errorCode, ex, request.getMethod(), request.getRequestURI());
+        boolean sendMessage = !ex.hasDefaultMessage() && (!errorCode.status().is5xxServerError() || includeMessage);
+        if (sendMessage) {
+            return dynamic(errorCode, request, ex.getMessage());
+        }
+        return prerendered(errorCode, request);
     }
 
     /**
@@ -40,55 +78,75 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Object>> handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
-        
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
-
-        ApiResponse<Object> response = ApiResponse.error(
-                HttpStatus.BAD_REQUEST,
+        errorReporter.report(ErrorCode.VALIDATION_FAILED, ex, request.getMethod(), request.getRequestURI());
+
+        // All messages per field; object-level errors (e.g. class-level constraints) are keyed by the object name
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        for (ObjectError error : ex.getBindingResult().getAllErrors()) {
+            String key = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
+            errors.computeIfAbsent(key, ignored -> new ArrayList<>(1)).add(error.getDefaultMessage());
+        }
+
+        ApiResponse<Object> response = ErrorEnvelopes.envelope(
+                ErrorCode.VALIDATION_FAILED,
                 request.getMethod(),
-                "Validation failed"
+                ErrorCode.VALIDATION_FAILED.defaultMessage()
         );
-        
+
         // Add validation errors to metadata
         response.addMetadata("validationErrors", errors);
-        
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+
+        return new ResponseEntity<>(response, ErrorCode.VALIDATION_FAILED.status());
     }
 
     /**
-     * Handle access denied exceptions
+     * Handle validation errors of bulk payloads
      */
-    @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ApiResponse<Object>> handleAccessDeniedException(
-            AccessDeniedException ex, HttpServletRequest request) {
-        
-        ApiResponse<Object> response = ApiResponse.error(
-                HttpStatus.FORBIDDEN,
+    @ExceptionHandler(BulkValidationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleBulkValidationException(
+            BulkValidationException ex, HttpServletRequest request) {
+        errorReporter.report(ErrorCode.VALIDATION_FAILED, ex, request.getMethod(), request.getRequestURI());
+
+        BulkValidationResult result = ex.getResult();
+        ApiResponse<Object> response = ErrorEnvelopes.envelope(
+                ErrorCode.VALIDATION_FAILED,
                 request.getMethod(),
-                "Access denied: " + ex.getMessage()
+                ErrorCode.VALIDATION_FAILED.defaultMessage()
         );
-        
-        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+        response.addMetadata("validationErrors", result.errors());
+        response.addMetadata("errorCount", result.errorCount());
+        response.addMetadata("truncated", result.truncated());
+
+        return new ResponseEntity<>(response, ErrorCode.VALIDATION_FAILED.status());
+    }
+
+    /**
+     * Handle access denied exceptions
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDeniedException(AccessDeniedException ex, HttpServletRequest request) {
+        errorReporter.report(ErrorCode.ACCESS_DENIED, ex, request.getMethod(), request.getRequestURI());
+        return prerendered(ErrorCode.ACCESS_DENIED, request);
     }
 
     /**
      * Handle resource not found exceptions
      */
-    @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<ApiResponse<Object>> handleNoHandlerFoundException(
-            NoHandlerFoundException ex, HttpServletRequest request) {
-        
-        ApiResponse<Object> response = ApiResponse.error(
-                HttpStatus.NOT_FOUND,
-                request.getMethod(),
-                "Resource not found: " + ex.getRequestURL()
-        );
-        
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    @ExceptionHandler({NoHandlerFoundException.class, NoResourceFoundException.class})
+    public ResponseEntity<?> handleNoHandlerFoundException(Exception ex, HttpServletRequest request) {
+        errorReporter.report(ErrorCode.NOT_FOUND, ex, request.getMethod(), request.getRequestURI());
+        return prerendered(ErrorCode.NOT_FOUND, request);
+    }
+
+    private ResponseEntity<?> prerendered(ErrorCode errorCode, HttpServletRequest request) {
+        // Debug metrics are added to the ApiResponse metadata, which a pre-rendered envelope does not have
+        if (EndpointMetricsFilter.isDebugRequest(request)) {
+            return dynamic(errorCode, request, errorCode.defaultMessage());
+        }
+        return errorEnvelopes.render(errorCode, request.getMethod());
+    }
+
+    private static ResponseEntity<ApiResponse<Object>> dynamic(ErrorCode errorCode, HttpServletRequest request, String message) {
+        return new ResponseEntity<>(ErrorEnvelopes.envelope(errorCode, request.getMethod(), message), errorCode.status());
     }
-}
\ No newline at end of file
+}
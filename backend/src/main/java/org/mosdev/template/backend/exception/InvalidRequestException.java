@@ -0,0 +1,15 @@
+package org.mosdev.template.backend.exception;
+
+/**
+ * Thrown when a request cannot be processed as sent (400 Bad Request)
+ */
+public class InvalidRequestException extends ApplicationException {
+
+    public InvalidRequestException(String message) {
+        super(ErrorCode.BAD_REQUEST, message);
+    }
+
+    public InvalidRequestException(ErrorCode errorCode, String message, Throwable cause) {
+        super(errorCode, message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package org.mosdev.template.backend.exception;
+
+/**
+ * Thrown when a requested resource does not exist (404 Not Found)
+ */
+public class ResourceNotFoundException extends ApplicationException {
+
+    public ResourceNotFoundException() {
+        super(ErrorCode.NOT_FOUND);
+    }
+
+    public ResourceNotFoundException(String message) {
+        super(ErrorCode.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,27 @@
+package org.mosdev.template.backend.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Executes the jobs of one type.
+ * Handlers are Spring beans; {@link JobService} runs them on its worker pool. A job that was
+ * interrupted by a restart runs again, so handlers should be idempotent.
+ */
+public interface JobHandler {
+
+    /**
+     * Get the job type handled, used in {@code POST /api/jobs/{type}}
+     *
+     * @return The job type
+     */
+    String type();
+
+    /**
+     * Execute one job
+     *
+     * @param payload The request body of the submission, or null
+     * @return The result, serialized as JSON into the job
+     * @throws Exception If the job fails; the exception message is stored in the job
+     */
+    Object execute(JsonNode payload) throws Exception;
+}
@@ -0,0 +1,402 @@
+package org.mosdev.template.backend.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.mosdev.template.backend.entity.Job;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.ResourceNotFoundException;
+import org.mosdev.template.backend.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link Job}s on a bounded worker pool.
+ * <p>
+ * The jobs table is the backlog; the in-memory queue only holds the next {@code app.jobs.queue-capacity}
+ * job ids. Jobs that do not fit are picked up oldest first as the queue drains, or by the periodic sweep.
+ * A worker claims a job with a conditional update before running it, so a job id queued twice runs once.
+ * Submissions beyond {@code app.jobs.max-pending} unfinished jobs are refused with 503.
+ * <p>
+ * The pool starts before the web server accepts requests. Jobs left RUNNING by a previous shutdown are
+ * queued again, or failed after {@code app.jobs.max-attempts} attempts. This recovery assumes that one
+ * application instance processes the jobs table.
+ */
+@Slf4j
+@Component
+public class JobService implements SmartLifecycle {
+
+    private static final Set<JobStatus> UNFINISHED = EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private final JobRepository jobRepository;
+
+    private final Map<String, JobHandler> handlers;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int queueCapacity;
+
+    private final long maxPending;
+
+    private final int maxAttempts;
+
+    private final Duration retention;
+
+    private final Duration shutdownTimeout;
+
+    private final int workers;
+
+    private final ThreadFactory threadFactory;
+
+    private volatile ThreadPoolExecutor executor;
+
+    // Job ids in the in-memory queue, so a refill does not queue them again
+    private final Set<String> enqueued = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    // Set when queued jobs may exist in the table that are not in the in-memory queue
+    private final AtomicBoolean backlog = new AtomicBoolean();
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    // Long-poll waiters per job id; the sets are only modified inside compute functions
+    private final ConcurrentMap<String, Set<CompletableFuture<Job>>> waiters = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public JobService(JobRepository jobRepository, List<JobHandler> handlers, ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.jobs.workers:8}") int workers,
+                      @Value("${app.jobs.queue-capacity:1000}") int queueCapacity,
+                      @Value("${app.jobs.max-pending:100000}") long maxPending,
+                      @Value("${app.jobs.max-attempts:3}") int maxAttempts,
+                      @Value("${app.jobs.retention:7d}") Duration retention,
+                      @Value("${app.jobs.shutdown-timeout:10s}") Duration shutdownTimeout,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jobRepository = jobRepository;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.shutdownTimeout = shutdownTimeout;
+        this.workers = workers;
+        // With virtual threads the pool size still bounds how many jobs run at once
+        this.threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("job-", 1).factory()
+                : Thread.ofPlatform().name("job-", 1).daemon(true).factory();
+
+        Gauge.builder("jobs.queue.size", enqueued, Set::size)
+                .description("Job ids waiting in the in-memory queue")
+                .register(meterRegistry);
+        Gauge.builder("jobs.pending", pending, AtomicLong::get)
+                .description("Queued and running jobs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recover the jobs interrupted by the previous shutdown and queue the oldest queued jobs
+     */
+    @Override
+    public void start() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+
+        Instant now = Instant.now();
+        int failed = jobRepository.failInterrupted(maxAttempts, "Interrupted " + maxAttempts + " times", now);
+        int requeued = jobRepository.requeueRunning();
+        pending.set(jobRepository.countByStatusIn(UNFINISHED));
+        if (failed > 0 || requeued > 0) {
+            log.info("Recovered interrupted jobs: {} queued again, {} failed", requeued, failed);
+        }
+        running = true;
+        backlog.set(true);
+        refill();
+    }
+
+    /**
+     * Stop taking jobs from the queue and wait for the running ones.
+     * Jobs still running after {@code app.jobs.shutdown-timeout} are interrupted and run again on the next start.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        ThreadPoolExecutor pool = executor;
+        // Queued ids stay QUEUED in the table
+        pool.getQueue().clear();
+        enqueued.clear();
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server, so no request reaches a stopped pool
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Persist a job and queue it for execution
+     *
+     * @param type    The job type
+     * @param payload The job input, or null
+     * @param owner   The name of the submitting principal, or null for jobs of the application itself,
+     *                which only admins can read
+     * @return The queued job
+     */
+    public Job submit(String type, JsonNode payload, String owner) {
+        if (!handlers.containsKey(type)) {
+            throw new ResourceNotFoundException("Unknown job type: " + type);
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new ApplicationException(ErrorCode.SERVICE_UNAVAILABLE, "Too many pending jobs", null, false);
+        }
+        Job job;
+        try {
+            job = jobRepository.save(new Job(type, owner, payload != null && !payload.isNull() ? payload.toString() : null));
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+        enqueue(job.getId());
+        return job;
+    }
+
+    /**
+     * Find a job visible to the caller
+     *
+     * @param id    The job id
+     * @param owner The name of the calling principal, or null if anonymous
+     * @param admin True if the caller may read the jobs of all principals
+     * @return The job
+     */
+    public Job find(String id, String owner, boolean admin) {
+        Job job = jobRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Job not found: " + id));
+        // Jobs of other principals are reported as missing, so their ids cannot be probed
+        if (!admin && (owner == null || !owner.equals(job.getOwner()))) {
+            throw new ResourceNotFoundException("Job not found: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Register for the completion of a job run by this instance.
+     * Register before reading the job, so a completion between the read and the registration is not missed.
+     *
+     * @param id The job id
+     * @return A future completed with the finished job
+     */
+    public CompletableFuture<Job> awaitFinished(String id) {
+        CompletableFuture<Job> future = new CompletableFuture<>();
+        waiters.compute(id, (key, futures) -> {
+            Set<CompletableFuture<Job>> registered = futures != null ? futures : new HashSet<>();
+            registered.add(future);
+            return registered;
+        });
+        return future;
+    }
+
+    /**
+     * Remove a waiter registered with {@link #awaitFinished(String)}
+     *
+     * @param id     The job id
+     * @param future The future returned on registration
+     */
+    public void cancelWait(String id, CompletableFuture<Job> future) {
+        waiters.computeIfPresent(id, (key, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+
+    /**
+     * Convert a job for the API response
+     *
+     * @param job The job
+     * @return The job view, with the result parsed back into JSON
+     */
+    public JobView view(Job job) {
+        JsonNode result = null;
+        if (job.getResult() != null) {
+            try {
+                result = objectMapper.readTree(job.getResult());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Stored result of job " + job.getId() + " is not valid JSON", e);
+            }
+        }
+        return new JobView(job.getId(), job.getType(), job.getStatus(), job.getAttempts(), job.getCreatedAt(),
+                job.getStartedAt(), job.getFinishedAt(), result, job.getError());
+    }
+
+    /**
+     * Queue the oldest queued jobs of the table that are not queued in memory yet.
+     * Picks up jobs that did not fit into the queue on submission, and jobs of a previous run.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.sweep-interval:10s}")
+    public void refill() {
+        if (!running || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            backlog.set(false);
+            int capacity = executor.getQueue().remainingCapacity();
+            if (capacity == 0) {
+                backlog.set(true);
+                return;
+            }
+            // The oldest queued jobs include the ones already queued in memory
+            int limit = capacity + enqueued.size();
+            List<String> ids = jobRepository.findIdsByStatus(JobStatus.QUEUED, Limit.of(limit));
+            for (String id : ids) {
+                enqueue(id);
+            }
+            if (ids.size() == limit) {
+                backlog.set(true);
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Delete jobs finished longer than {@code app.jobs.retention} ago
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.purge-interval:1h}")
+    public void purge() {
+        int deleted = jobRepository.deleteFinishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Deleted {} finished jobs", deleted);
+        }
+    }
+
+    private void enqueue(String id) {
+        if (!running || !enqueued.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(id));
+        } catch (RejectedExecutionException e) {
+            // Queue full: the job stays QUEUED in the table until the queue drains
+            enqueued.remove(id);
+            backlog.set(true);
+        }
+    }
+
+    private void run(String id) {
+        boolean claimed;
+        try {
+            claimed = jobRepository.claim(id, Instant.now()) == 1;
+        } finally {
+            enqueued.remove(id);
+        }
+        if (claimed) {
+            jobRepository.findById(id).ifPresent(this::execute);
+        }
+        if (backlog.get() && executor.getQueue().remainingCapacity() >= queueCapacity / 2) {
+            refill();
+        }
+    }
+
+    private void execute(Job job) {
+        long startNanos = System.nanoTime();
+        JobHandler handler = handlers.get(job.getType());
+        String result = null;
+        String error = null;
+        VirtualMachineError fatal = null;
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("Unknown job type: " + job.getType());
+            }
+            JsonNode payload = job.getPayload() != null ? objectMapper.readTree(job.getPayload()) : null;
+            result = objectMapper.writeValueAsString(handler.execute(payload));
+        } catch (InterruptedException e) {
+            // Shutdown: the job stays RUNNING and is queued again on the next start
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable e) {
+            // Errors too, so the job does not stay RUNNING and keep its pending slot until the next start
+            log.debug("Job {} of type {} failed", job.getId(), job.getType(), e);
+            if (e instanceof VirtualMachineError virtualMachineError) {
+                fatal = virtualMachineError;
+            }
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            if (error.length() > Job.MAX_ERROR_LENGTH) {
+                error = error.substring(0, Job.MAX_ERROR_LENGTH);
+            }
+        }
+
+        JobStatus status = error == null ? JobStatus.SUCCEEDED : JobStatus.FAILED;
+        Instant finishedAt = Instant.now();
+        if (jobRepository.finish(job.getId(), status, result, error, finishedAt) == 1) {
+            pending.decrementAndGet();
+            Timer.builder("jobs.execution")
+                    .description("Execution time of jobs")
+                    .tags("type", job.getType(), "status", status.name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            job.setStatus(status);
+            job.setResult(result);
+            job.setError(error);
+            job.setFinishedAt(finishedAt);
+            notifyWaiters(job);
+        }
+        if (fatal != null) {
+            throw fatal;
+        }
+    }
+
+    private void notifyWaiters(Job job) {
+        Set<CompletableFuture<Job>> futures = waiters.remove(job.getId());
+        if (futures != null) {
+            futures.forEach(future -> future.complete(job));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.mosdev.template.backend.job;
+
+/**
+ * Lifecycle of a {@link org.mosdev.template.backend.entity.Job}
+ */
+public enum JobStatus {
+
+    /**
+     * Persisted and waiting for a worker
+     */
+    QUEUED,
+
+    /**
+     * Claimed by a worker
+     */
+    RUNNING,
+
+    /**
+     * Finished with a result
+     */
+    SUCCEEDED,
+
+    /**
+     * Finished with an error
+     */
+    FAILED;
+
+    /**
+     * Check whether the job has finished
+     *
+     * @return True for SUCCEEDED and FAILED
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
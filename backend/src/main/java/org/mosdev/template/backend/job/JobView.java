@@ -0,0 +1,22 @@
+package org.mosdev.template.backend.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+
+/**
+ * Job state returned by the job endpoints
+ *
+ * @param id         The job id
+ * @param type       The job type
+ * @param status     The job status
+ * @param attempts   The number of times the job was started
+ * @param createdAt  The submission time
+ * @param startedAt  The start time of the last attempt, or null while queued
+ * @param finishedAt The finish time, or null while unfinished
+ * @param result     The result of a succeeded job
+ * @param error      The error message of a failed job
+ */
+public record JobView(String id, String type, JobStatus status, int attempts, Instant createdAt,
+                      Instant startedAt, Instant finishedAt, JsonNode result, String error) {
+}
@@ -0,0 +1,28 @@
+package org.mosdev.template.backend.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Sample job simulating slow work: {@code POST /api/jobs/sleep} with {@code {"millis": 2000}}
+ */
+@Component
+public class SleepJobHandler implements JobHandler {
+
+    private static final long MAX_MILLIS = 60_000;
+
+    @Override
+    public String type() {
+        return "sleep";
+    }
+
+    @Override
+    public Object execute(JsonNode payload) throws InterruptedException {
+        long millis = payload != null ? payload.path("millis").asLong(1000) : 1000;
+        long sleepMillis = Math.min(Math.max(millis, 0), MAX_MILLIS);
+        Thread.sleep(sleepMillis);
+        return Map.of("sleptMillis", sleepMillis);
+    }
+}
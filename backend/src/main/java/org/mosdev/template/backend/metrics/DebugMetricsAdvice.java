@@ -0,0 +1,46 @@
+package org.mosdev.template.backend.metrics;
+
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds serverTimeMicros and allocatedBytes to the metadata of an ApiResponse when the request
+ * carries {@link EndpointMetricsFilter#DEBUG_HEADER} and debug metrics are enabled.
+ * Both are measured from the start of the request up to serialization of the body.
+ */
+@RestControllerAdvice
+public class DebugMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse<?> apiResponse)
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(servletRequest.getServletRequest().getAttribute(EndpointMetricsFilter.START_NANOS_ATTRIBUTE) instanceof Long startNanos)) {
+            return body;
+        }
+        long serverTimeMicros = (System.nanoTime() - startNanos) / 1_000;
+        long allocatedBytes = -1;
+        if (servletRequest.getServletRequest().getAttribute(EndpointMetricsFilter.START_ALLOCATED_ATTRIBUTE) instanceof Long startAllocated
+                && startAllocated >= 0) {
+            long currentAllocated = AllocationCounter.currentThreadAllocatedBytes();
+            allocatedBytes = currentAllocated >= startAllocated ? currentAllocated - startAllocated : -1;
+        }
+        ResponseWrapper.addDebugMetrics(apiResponse, serverTimeMicros, allocatedBytes);
+        return body;
+    }
+}
@@ -0,0 +1,127 @@
+package org.mosdev.template.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mosdev.template.backend.security.RouteClass;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, response size and allocation of every {@code @RestController} request under {@code /api}.
+ * <p>
+ * Latency is a timer with a percentile histogram ({@code http.endpoint.latency}), response size and allocated
+ * bytes are distribution summaries ({@code http.endpoint.response.size}, {@code http.endpoint.allocation}),
+ * all tagged with the URI pattern, HTTP method and status. Meters are resolved once per tag combination.
+ * Allocation is only recorded on platform threads, see {@link AllocationCounter}.
+ * <p>
+ * When debug metrics are enabled and a request carries {@link #DEBUG_HEADER}, the start of the request is
+ * kept as request attributes for {@link DebugMetricsAdvice}.
+ */
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header asking for serverTimeMicros and allocatedBytes in the response metadata
+     */
+    public static final String DEBUG_HEADER = "X-Debug-Metrics";
+
+    static final String START_NANOS_ATTRIBUTE = EndpointMetricsFilter.class.getName() + ".START_NANOS";
+
+    static final String START_ALLOCATED_ATTRIBUTE = EndpointMetricsFilter.class.getName() + ".START_ALLOCATED";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean debugEnabled;
+
+    private final ConcurrentMap<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+    public EndpointMetricsFilter(MeterRegistry meterRegistry, boolean debugEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.debugEnabled = debugEnabled;
+    }
+
+    /**
+     * Check whether debug metrics are collected for a request
+     *
+     * @param request The request
+     * @return True if the response metadata should carry debug metrics
+     */
+    public static boolean isDebugRequest(HttpServletRequest request) {
+        return request.getAttribute(START_NANOS_ATTRIBUTE) != null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RouteClass.of(request) != RouteClass.API;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = AllocationCounter.currentThreadAllocatedBytes();
+        if (debugEnabled && request.getHeader(DEBUG_HEADER) != null) {
+            request.setAttribute(START_NANOS_ATTRIBUTE, startNanos);
+            request.setAttribute(START_ALLOCATED_ATTRIBUTE, startAllocated);
+        }
+
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                    && AnnotatedElementUtils.hasAnnotation(handler.getBeanType(), RestController.class)) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                MeterKey key = new MeterKey(pattern != null ? pattern.toString() : "UNKNOWN", request.getMethod(), response.getStatus());
+                Meters endpoint = meters.computeIfAbsent(key, this::register);
+                endpoint.latency().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                endpoint.responseSize().record(countingResponse.getByteCount());
+                long endAllocated = AllocationCounter.currentThreadAllocatedBytes();
+                if (startAllocated >= 0 && endAllocated >= startAllocated) {
+                    endpoint.allocation().record(endAllocated - startAllocated);
+                }
+            }
+        }
+    }
+
+    private Meters register(MeterKey key) {
+        String status = Integer.toString(key.status());
+        Timer latency = Timer.builder("http.endpoint.latency")
+                .description("Latency of REST controller requests")
+                .tags("uri", key.uri(), "method", key.method(), "status", status)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+        DistributionSummary responseSize = DistributionSummary.builder("http.endpoint.response.size")
+                .description("Response body bytes written by REST controller requests")
+                .baseUnit("bytes")
+                .tags("uri", key.uri(), "method", key.method(), "status", status)
+                .register(meterRegistry);
+        DistributionSummary allocation = DistributionSummary.builder("http.endpoint.allocation")
+                .description("Heap bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .tags("uri", key.uri(), "method", key.method(), "status", status)
+                .register(meterRegistry);
+        return new Meters(latency, responseSize, allocation);
+    }
+
+    private record MeterKey(String uri, String method, int status) {
+    }
+
+    private record Meters(Timer latency, DistributionSummary responseSize, DistributionSummary allocation) {
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +24,11 @@ import java.util.Map;
 @AllArgsConstructor
 public class ApiResponse<T> {
 
+    /**
+     * Pattern used to render the timestamp
+     */
+    public static final String TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
     /**
      * HTTP status code of the response
      */
@@ -36,7 +42,7 @@ public class ApiResponse<T> {
     /**
      * Timestamp when the response was generated
      */
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = TIMESTAMP_PATTERN)
     private LocalDateTime timestamp;
 
     /**
@@ -76,7 +82,6 @@ public class ApiResponse<T> {
                 .success(true)
                 .message(message)
                 .data(data)
-                .metadata(new HashMap<>())
                 .build();
     }
 
@@ -96,10 +101,19 @@ public class ApiResponse<T> {
                 .timestamp(LocalDateTime.now())
                 .success(false)
                 .message(message)
-                .metadata(new HashMap<>())
                 .build();
     }
 
+    /**
+     * Get the metadata of the response.
+     * The map is only allocated once an entry is added; until then a shared empty map is returned.
+     *
+     * @return The metadata, never null
+     */
+    public Map<String, Object> getMetadata() {
+        return metadata != null ? metadata : Collections.emptyMap();
+    }
+
     /**
      * Add a metadata entry to the response
      *
@@ -0,0 +1,50 @@
+package org.mosdev.template.backend.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bulk export of records as newline-delimited JSON ({@code application/x-ndjson}).
+ * Records are pulled from the source only as fast as the client reads them and are
+ * flushed in batches, so the server never buffers more than one batch per response.
+ *
+ * @param <T> The type of the exported records
+ */
+@Getter
+@Builder
+public class NdjsonStream<T> {
+
+    /**
+     * Opens the stream of records; called once when the response body is written
+     */
+    private final Supplier<Stream<T>> source;
+
+    /**
+     * Called after each record has been written, e.g. to detach a JPA entity
+     */
+    private final Consumer<? super T> afterWrite;
+
+    /**
+     * Whether the source is opened and consumed inside a read-only transaction
+     */
+    private final boolean readOnlyTransaction;
+
+    /**
+     * Number of records written between two flushes; 0 uses the configured default
+     */
+    private final int batchSize;
+
+    /**
+     * Get the callback invoked after each record has been written
+     *
+     * @return The callback, a no-op if none was set
+     */
+    public Consumer<? super T> getAfterWrite() {
+        return afterWrite != null ? afterWrite : record -> {
+        };
+    }
+}
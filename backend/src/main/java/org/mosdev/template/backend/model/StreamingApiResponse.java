@@ -0,0 +1,71 @@
+package org.mosdev.template.backend.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streaming variant of {@link ApiResponse} for large result sets.
+ * It is written with the same envelope fields, but {@code data} is written element by element
+ * while the source stream is consumed, and {@code metadata} carries the row count and elapsed time.
+ *
+ * @param <T> The type of the streamed elements
+ */
+@Getter
+@Builder
+public class StreamingApiResponse<T> {
+
+    /**
+     * HTTP status code of the response
+     */
+    private final int code;
+
+    /**
+     * HTTP method used for the request (GET, POST, PUT, DELETE, etc.)
+     */
+    private final String method;
+
+    /**
+     * Timestamp when the response was generated
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * Flag indicating if the request was successful
+     */
+    private final boolean success;
+
+    /**
+     * Message providing additional information about the response
+     */
+    private final String message;
+
+    /**
+     * Opens the stream of elements; called once when the response body is written
+     */
+    private final Supplier<Stream<T>> source;
+
+    /**
+     * Called after each element has been written, e.g. to detach a JPA entity
+     */
+    private final Consumer<? super T> afterWrite;
+
+    /**
+     * Whether the source is opened and consumed inside a read-only transaction
+     */
+    private final boolean readOnlyTransaction;
+
+    /**
+     * Get the callback invoked after each element has been written
+     *
+     * @return The callback, a no-op if none was set
+     */
+    public Consumer<? super T> getAfterWrite() {
+        return afterWrite != null ? afterWrite : element -> {
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package org.mosdev.template.backend.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL-safe cursor strings.
+ * A cursor holds the sort key values of the last element of a page together with their types,
+ * so the next page is read with a {@code WHERE (key) > (last key)} condition instead of an offset.
+ */
+public final class Cursors {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final TypeReference<LinkedHashMap<String, List<String>>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private Cursors() {
+    }
+
+    /**
+     * Encode a scroll position
+     *
+     * @param position The keyset position after the last element of a page
+     * @return The cursor, or null for the initial position
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        keyset.getKeys().forEach((name, value) -> keys.put(name, List.of(typeOf(name, value), value.toString())));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode cursor", ex);
+        }
+    }
+
+    /**
+     * Decode a cursor
+     *
+     * @param cursor The cursor sent by the client, or null for the first page
+     * @return The keyset position to continue from
+     * @throws InvalidCursorException If the cursor is malformed
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, List<String>> keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> key : keys.entrySet()) {
+                List<String> typedValue = key.getValue();
+                if (typedValue == null || typedValue.size() != 2) {
+                    throw new InvalidCursorException("Invalid cursor");
+                }
+                values.put(key.getKey(), valueOf(typedValue.get(0), typedValue.get(1)));
+            }
+            return ScrollPosition.forward(values);
+        } catch (IOException | RuntimeException ex) {
+            if (ex instanceof InvalidCursorException invalid) {
+                throw invalid;
+            }
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+    private static String typeOf(String name, Object value) {
+        return switch (value) {
+            case Long ignored -> "L";
+            case Integer ignored -> "I";
+            case String ignored -> "S";
+            case BigDecimal ignored -> "N";
+            case LocalDateTime ignored -> "T";
+            case LocalDate ignored -> "D";
+            case Instant ignored -> "i";
+            case UUID ignored -> "U";
+            case null -> throw new IllegalStateException("Sort key " + name + " is null, keyset pagination needs non-null sort keys");
+            default -> throw new IllegalStateException("Unsupported sort key type " + value.getClass().getName() + " for " + name);
+        };
+    }
+
+    private static Object valueOf(String type, String value) {
+        return switch (type) {
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "S" -> value;
+            case "N" -> new BigDecimal(value);
+            case "T" -> LocalDateTime.parse(value);
+            case "D" -> LocalDate.parse(value);
+            case "i" -> Instant.parse(value);
+            case "U" -> UUID.fromString(value);
+            default -> throw new InvalidCursorException("Invalid cursor");
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package org.mosdev.template.backend.pagination;
+
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.InvalidRequestException;
+
+/**
+ * Thrown when a client sends a pagination cursor that was not issued by this API
+ */
+public class InvalidCursorException extends InvalidRequestException {
+
+    public InvalidCursorException(String message) {
+        super(ErrorCode.INVALID_CURSOR, message, null);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(ErrorCode.INVALID_CURSOR, message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package org.mosdev.template.backend.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset equivalent of {@code Pageable}: where to continue, how many elements to read and in which order.
+ * Pass {@link #position()}, {@link #limit()} and {@link #sort()} to a repository method returning
+ * {@code Window<T>}, then hand the window to {@code ResponseWrapper.page(...)}.
+ * <p>
+ * The sort must end with a unique key (usually the id) and the sort keys should be covered by an index,
+ * so every page is an index range scan no matter how deep the client scrolls.
+ *
+ * @param position The position after the last element of the previous page
+ * @param limit    The page size
+ * @param sort     The order of the elements
+ */
+public record KeysetPageRequest(KeysetScrollPosition position, Limit limit, Sort sort) {
+
+    /**
+     * Largest page size a client may request
+     */
+    public static final int MAX_SIZE = 200;
+
+    /**
+     * Create a page request from request parameters
+     *
+     * @param cursor The cursor of the previous page, or null for the first page
+     * @param size   The requested page size, clamped to 1..{@value #MAX_SIZE}
+     * @param sort   The order of the elements, ending with a unique key
+     * @return The page request
+     * @throws InvalidCursorException If the cursor is malformed or does not match the sort
+     */
+    public static KeysetPageRequest of(String cursor, int size, Sort sort) {
+        KeysetScrollPosition position = Cursors.decode(cursor);
+        if (!position.isInitial()) {
+            for (Sort.Order order : sort) {
+                if (!position.getKeys().containsKey(order.getProperty())) {
+                    throw new InvalidCursorException("Cursor does not match the sort order");
+                }
+            }
+        }
+        return new KeysetPageRequest(position, Limit.of(Math.min(Math.max(size, 1), MAX_SIZE)), sort);
+    }
+
+    /**
+     * Check whether this is the request for the first page
+     *
+     * @return True if no cursor was given
+     */
+    public boolean isFirstPage() {
+        return position.isInitial();
+    }
+}
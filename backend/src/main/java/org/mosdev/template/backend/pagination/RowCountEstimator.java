@@ -0,0 +1,58 @@
+package org.mosdev.template.backend.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Estimated number of rows of a table, read from the storage engine statistics in
+ * {@code information_schema.TABLES} instead of running {@code COUNT(*)}.
+ * InnoDB estimates can be off by tens of percent; they are meant for "about N results", not for exact totals.
+ * Estimates are cached for a minute.
+ */
+@Slf4j
+@Component
+public class RowCountEstimator {
+
+    private static final String ESTIMATE_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<String, Optional<Long>> estimates = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(1_000)
+            .build();
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the estimated row count of a table
+     *
+     * @param table The table name
+     * @return The estimate, or null if the database does not provide one
+     */
+    public Long estimate(String table) {
+        return estimates.get(table, this::query).orElse(null);
+    }
+
+    private Optional<Long> query(String table) {
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(ESTIMATE_SQL, Long.class, table);
+            return rows.stream().filter(Objects::nonNull).findFirst();
+        } catch (DataAccessException ex) {
+            log.debug("No row count estimate for table {}: {}", table, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.mosdev.template.backend.ratelimit;
+
+/**
+ * A token bucket limit in the form used by the generic cell rate algorithm (GCRA)
+ *
+ * @param emissionIntervalNanos Time to refill one token
+ * @param toleranceNanos        How far ahead of the schedule a client may be, i.e. the burst beyond one request
+ * @param capacity              Burst size, as configured
+ */
+public record RateLimit(long emissionIntervalNanos, long toleranceNanos, int capacity) {
+
+    /**
+     * Convert a configured limit
+     *
+     * @param limit The configured limit
+     * @return The limit
+     * @throws IllegalArgumentException If the capacity or the refill rate is not positive
+     */
+    public static RateLimit of(RateLimitProperties.Limit limit) {
+        if (limit.getCapacity() < 1 || limit.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("Rate limits need a capacity >= 1 and a positive refill rate: " + limit);
+        }
+        long interval = Math.max(1, Math.round(1_000_000_000d / limit.getRefillPerSecond()));
+        return new RateLimit(interval, interval * (limit.getCapacity() - 1), limit.getCapacity());
+    }
+}
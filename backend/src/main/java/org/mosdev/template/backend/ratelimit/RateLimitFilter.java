@@ -0,0 +1,202 @@
+package org.mosdev.template.backend.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.ErrorEnvelopes;
+import org.mosdev.template.backend.security.RouteClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sheds load and enforces per-client rate limits on {@code /api} requests.
+ * Runs after the security filter chain, so clients are identified by their principal;
+ * anonymous clients by their IP, which Tomcat has already taken from {@code X-Forwarded-For}
+ * ({@code server.forward-headers-strategy=native}).
+ * <p>
+ * Rejected requests never reach a controller: they get a pre-rendered 429 or 503 envelope with
+ * {@code Retry-After}. Load shedding counts the requests occupying a request thread; it is checked
+ * first, so an overloaded server answers without touching the rate limiter.
+ * <p>
+ * Requests dispatched inside the application, such as batch sub-requests, do not pass the servlet
+ * filters; they are limited through {@link #doFilterNested}, each against the bucket of its own route.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final StripedRateLimiter rateLimiter;
+
+    private final ErrorEnvelopes errorEnvelopes;
+
+    private final Rule globalRule;
+
+    private final List<Rule> routeRules = new ArrayList<>();
+
+    private final int maxConcurrentRequests;
+
+    private final String shedRetryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter rateLimited;
+
+    private final Counter shed;
+
+    public RateLimitFilter(RateLimitProperties properties, StripedRateLimiter rateLimiter, ErrorEnvelopes errorEnvelopes,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.errorEnvelopes = errorEnvelopes;
+        this.globalRule = new Rule("*", null, RateLimit.of(properties.getDefaults()), roleLimits(properties.getRoles()));
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            RateLimit limit = RateLimit.of(route.getLimit() != null ? route.getLimit() : properties.getDefaults());
+            routeRules.add(new Rule(route.getPattern(), PathPatternParser.defaultInstance.parse(route.getPattern()),
+                    limit, roleLimits(route.getRoles())));
+        }
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        this.shedRetryAfterSeconds = Long.toString(Math.max(1, properties.getShedRetryAfter().toSeconds()));
+
+        this.rateLimited = Counter.builder("http.server.requests.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+        this.shed = Counter.builder("http.server.requests.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "overloaded")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.in_flight", inFlight, AtomicInteger::get)
+                .description("API requests currently holding a request thread")
+                .register(meterRegistry);
+    }
+
+    private static Map<String, RateLimit> roleLimits(Map<String, RateLimitProperties.Limit> roles) {
+        Map<String, RateLimit> limits = new HashMap<>();
+        roles.forEach((role, limit) -> limits.put("ROLE_" + role, RateLimit.of(limit)));
+        return limits;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RouteClass.of(request) != RouteClass.API;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int current = inFlight.incrementAndGet();
+        try {
+            if (maxConcurrentRequests > 0 && current > maxConcurrentRequests) {
+                shed.increment();
+                reject(request, response, ErrorCode.SERVICE_UNAVAILABLE, shedRetryAfterSeconds);
+                return;
+            }
+            if (acquire(request, response)) {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Apply the rate limits to a request dispatched inside the application, e.g. a batch sub-request.
+     * Must run after the security filter chain has authenticated the request. The request holds no request
+     * thread of its own, so it is not counted for load shedding.
+     *
+     * @param request     The nested request
+     * @param response    The nested response
+     * @param filterChain Continues with the request if it is within its limits
+     */
+    public void doFilterNested(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (shouldNotFilter(request) || acquire(request, response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // Takes a token from the client's bucket for the route, or answers 429
+    private boolean acquire(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        String client = authenticated ? "u:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+
+        Rule rule = rule(request);
+        RateLimit limit = authenticated ? rule.limitFor(authentication) : rule.defaults();
+        long waitNanos = rateLimiter.tryAcquire(rule.id() + '|' + client, limit, System.nanoTime());
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(request, response, ErrorCode.TOO_MANY_REQUESTS, Long.toString(retryAfterSeconds));
+            return false;
+        }
+        return true;
+    }
+
+    private Rule rule(HttpServletRequest request) {
+        if (routeRules.isEmpty()) {
+            return globalRule;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Rule rule : routeRules) {
+            if (rule.pattern().matches(pathContainer)) {
+                return rule;
+            }
+        }
+        return globalRule;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, ErrorCode errorCode, String retryAfter)
+            throws IOException {
+        byte[] body = errorEnvelopes.body(errorCode, request.getMethod());
+        response.setStatus(errorCode.status().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Limits of one route (or of all routes without their own limits)
+     *
+     * @param id       Part of the bucket key, so each route has its own buckets
+     * @param pattern  The path pattern, null for the global rule
+     * @param defaults Limit of anonymous clients and clients without a role limit
+     * @param roles    Limits by authority name ({@code ROLE_*})
+     */
+    private record Rule(String id, PathPattern pattern, RateLimit defaults, Map<String, RateLimit> roles) {
+
+        RateLimit limitFor(Authentication authentication) {
+            RateLimit best = null;
+            if (!roles.isEmpty()) {
+                for (GrantedAuthority authority : authentication.getAuthorities()) {
+                    RateLimit limit = roles.get(authority.getAuthority());
+                    if (limit != null && (best == null || limit.emissionIntervalNanos() < best.emissionIntervalNanos())) {
+                        best = limit;
+                    }
+                }
+            }
+            return best != null ? best : defaults;
+        }
+    }
+}
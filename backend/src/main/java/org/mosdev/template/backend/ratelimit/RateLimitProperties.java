@@ -0,0 +1,91 @@
+package org.mosdev.template.backend.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limits and load shedding for {@code /api} requests ({@code app.rate-limit.*}).
+ * <p>
+ * A client is the authenticated principal, or the client IP for anonymous requests. The first route
+ * whose pattern matches the request path selects the limits; requests matching no route use the
+ * global limits. Within route or global limits, a client gets the most generous limit of its roles,
+ * or the default limit when none of its roles has one.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited and shed
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit of anonymous clients and clients without a role limit
+     */
+    private Limit defaults = new Limit(50, 20);
+
+    /**
+     * Limits by role name (USER, DEVELOPER, ADMIN)
+     */
+    private Map<String, Limit> roles = new LinkedHashMap<>();
+
+    /**
+     * Limits of specific routes, counted separately from the global limits
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Requests processed at the same time before new ones are answered 503, 0 disables load shedding
+     */
+    private int maxConcurrentRequests = 0;
+
+    /**
+     * Retry-After sent with 503 responses
+     */
+    private Duration shedRetryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Number of independently locked maps holding the buckets (rounded up to a power of two)
+     */
+    private int stripes = 64;
+
+    /**
+     * Buckets per stripe above which idle buckets are dropped before a new one is added
+     */
+    private int maxKeysPerStripe = 10_000;
+
+    /**
+     * A token bucket: {@code capacity} requests in a burst, refilled at {@code refillPerSecond}
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int capacity;
+
+        private double refillPerSecond;
+    }
+
+    /**
+     * Limits of the requests whose path matches {@code pattern} (e.g. {@code /api/auth/token})
+     */
+    @Data
+    public static class Route {
+
+        private String pattern;
+
+        private Limit limit;
+
+        private Map<String, Limit> roles = new LinkedHashMap<>();
+    }
+}
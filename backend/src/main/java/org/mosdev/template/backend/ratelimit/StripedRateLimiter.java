@@ -0,0 +1,96 @@
+package org.mosdev.template.backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by client.
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the generic cell
+ * rate algorithm, so acquiring is one read and one compare-and-set, without a refill timer or lock.
+ * Buckets live in several maps (stripes) chosen by key hash; growing or cleaning one stripe does not
+ * touch the others. A bucket whose arrival time has passed is full and equivalent to a new bucket,
+ * so idle buckets can be dropped at any time.
+ */
+public class StripedRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    private final int mask;
+
+    private final int maxKeysPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public StripedRateLimiter(int stripes, int maxKeysPerStripe) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+        this.maxKeysPerStripe = maxKeysPerStripe;
+    }
+
+    /**
+     * Take one token from the bucket of a key
+     *
+     * @param key   The bucket key
+     * @param limit The limit of the bucket
+     * @param now   The current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key, RateLimit limit, long now) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[spread(key.hashCode()) & mask];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                evictIdle(stripe, now);
+            }
+            bucket = stripe.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+
+        long interval = limit.emissionIntervalNanos();
+        for (;;) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long allowedAt = next - interval - limit.toleranceNanos();
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop the buckets that have refilled completely
+     *
+     * @param now The current {@link System#nanoTime()}
+     */
+    public void evictIdle(long now) {
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    /**
+     * Get the number of buckets
+     *
+     * @return The number of buckets in all stripes
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,41 @@
+package org.mosdev.template.backend.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.mosdev.template.backend.entity.Item;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+/**
+ * Repository for {@link Item}.
+ * findById is served from the second-level cache; the finder below uses the query cache,
+ * which is invalidated whenever the items table changes.
+ */
+public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    /**
+     * Find items by name, with the result cached in the query cache
+     *
+     * @param name Part of the name, case-insensitive
+     * @return The matching items ordered by name
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Item> findByNameContainingIgnoreCaseOrderByNameAsc(String name);
+
+    /**
+     * Read one page of items by name with keyset pagination
+     *
+     * @param name     Part of the name, case-insensitive
+     * @param position The position after the last item of the previous page
+     * @param limit    The page size
+     * @param sort     The order of the items, ending with the id
+     * @return The page of items
+     */
+    Window<Item> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+}
@@ -0,0 +1,106 @@
+package org.mosdev.template.backend.repository;
+
+import org.mosdev.template.backend.entity.Job;
+import org.mosdev.template.backend.job.JobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link Job}.
+ * Status changes are single conditional updates instead of read-modify-write, so concurrent
+ * workers (or nodes) cannot claim or finish the same job twice.
+ */
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    /**
+     * Read the ids of the oldest jobs in a status
+     *
+     * @param status The status
+     * @param limit  The number of ids to read
+     * @return The job ids, oldest first
+     */
+    @Query("select j.id from Job j where j.status = :status order by j.createdAt")
+    List<String> findIdsByStatus(@Param("status") JobStatus status, Limit limit);
+
+    /**
+     * Count the jobs in the given statuses
+     *
+     * @param statuses The statuses
+     * @return The number of jobs
+     */
+    long countByStatusIn(Collection<JobStatus> statuses);
+
+    /**
+     * Move a queued job to RUNNING
+     *
+     * @param id  The job id
+     * @param now The start time
+     * @return 1 if the job was claimed, 0 if it is not queued (anymore)
+     */
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.status = org.mosdev.template.backend.job.JobStatus.RUNNING, j.startedAt = :now, "
+            + "j.attempts = j.attempts + 1 where j.id = :id and j.status = org.mosdev.template.backend.job.JobStatus.QUEUED")
+    int claim(@Param("id") String id, @Param("now") Instant now);
+
+    /**
+     * Store the outcome of a running job
+     *
+     * @param id     The job id
+     * @param status SUCCEEDED or FAILED
+     * @param result The result as JSON, or null
+     * @param error  The error message, or null
+     * @param now    The finish time
+     * @return 1 if the job was running and is now finished
+     */
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.status = :status, j.result = :result, j.error = :error, j.finishedAt = :now "
+            + "where j.id = :id and j.status = org.mosdev.template.backend.job.JobStatus.RUNNING")
+    int finish(@Param("id") String id, @Param("status") JobStatus status, @Param("result") String result,
+               @Param("error") String error, @Param("now") Instant now);
+
+    /**
+     * Fail running jobs that were already interrupted too often
+     *
+     * @param maxAttempts The number of attempts after which a job is not run again
+     * @param error       The error message
+     * @param now         The finish time
+     * @return The number of failed jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.status = org.mosdev.template.backend.job.JobStatus.FAILED, j.error = :error, j.finishedAt = :now "
+            + "where j.status = org.mosdev.template.backend.job.JobStatus.RUNNING and j.attempts >= :maxAttempts")
+    int failInterrupted(@Param("maxAttempts") int maxAttempts, @Param("error") String error, @Param("now") Instant now);
+
+    /**
+     * Put running jobs back into the queue, after they were interrupted by a shutdown
+     *
+     * @return The number of requeued jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.status = org.mosdev.template.backend.job.JobStatus.QUEUED, j.startedAt = null "
+            + "where j.status = org.mosdev.template.backend.job.JobStatus.RUNNING")
+    int requeueRunning();
+
+    /**
+     * Delete finished jobs
+     *
+     * @param cutoff Jobs finished before this time are deleted
+     * @return The number of deleted jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Job j where j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+}
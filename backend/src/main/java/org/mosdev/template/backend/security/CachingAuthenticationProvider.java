@@ -0,0 +1,127 @@
+package org.mosdev.template.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Remembers successful username/password authentications for a short time,
+ * so repeated HTTP Basic requests skip the BCrypt verification of the delegate.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 digest of the username and password under a key generated
+ * at startup, so the cache never holds a reusable credential. Failed attempts are never cached.
+ * The cache keeps the principal (without its password) and authorities, and every hit returns a new
+ * authentication, since the caller erases credentials and may set details on the one it receives.
+ * Changes to a user (password, roles, lock) take effect at the latest after the TTL.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    /**
+     * Name of the cache in the published metrics
+     */
+    public static final String CACHE_NAME = "auth.credentials";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+
+    private final SecretKey digestKey;
+
+    private final Cache<String, VerifiedCredentials> cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        try {
+            this.digestKey = KeyGenerator.getInstance(MAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = digest(authentication.getName(), credentials.toString());
+        VerifiedCredentials cached = cache.getIfPresent(key);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    copyPrincipal(cached.principal()), null, cached.authorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, new VerifiedCredentials(copyPrincipal(result.getPrincipal()), List.copyOf(result.getAuthorities())));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication) && delegate.supports(authentication);
+    }
+
+    /**
+     * Forget all verified credentials, e.g. after users or passwords have changed
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    // A user without its password hash, so erasing the credentials of a returned principal does not touch the cache
+    private static Object copyPrincipal(Object principal) {
+        if (principal instanceof UserDetails user) {
+            return User.withUserDetails(user).password("").build();
+        }
+        return principal;
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // Separator that cannot appear in a username, so "ab"+"c" and "a"+"bc" differ
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot compute the credential digest", ex);
+        }
+    }
+
+    /**
+     * A successful authentication, without credentials
+     *
+     * @param principal   The authenticated principal
+     * @param authorities The granted authorities
+     */
+    private record VerifiedCredentials(Object principal, List<GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,116 @@
+package org.mosdev.template.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * First filter of every request: classifies the path into a {@link RouteClass} and answers
+ * CORS preflight requests without entering the security filter chain.
+ * <p>
+ * The allowed origins, methods and headers are taken from the application's CorsConfiguration
+ * once and the response headers are pre-rendered, so a preflight costs a few set lookups.
+ * Only explicit origins are supported; origin patterns are left to the regular CORS processing.
+ */
+public class CorsPreflightFilter extends OncePerRequestFilter {
+
+    private static final byte[] INVALID_CORS_REQUEST = "Invalid CORS request".getBytes(StandardCharsets.UTF_8);
+
+    private static final String VARY = String.join(", ",
+            HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private final Set<String> allowedOrigins;
+
+    private final Set<String> allowedMethods;
+
+    private final Set<String> allowedHeaders;
+
+    private final boolean allowAllHeaders;
+
+    private final String allowMethodsValue;
+
+    private final String allowHeadersValue;
+
+    private final String allowCredentialsValue;
+
+    private final String maxAgeValue;
+
+    public CorsPreflightFilter(CorsConfiguration configuration) {
+        if (configuration.getAllowedOriginPatterns() != null && !configuration.getAllowedOriginPatterns().isEmpty()) {
+            throw new IllegalArgumentException("Origin patterns are not supported by the preflight fast path");
+        }
+        this.allowedOrigins = Set.copyOf(orEmpty(configuration.getAllowedOrigins()));
+        this.allowedMethods = Set.copyOf(orEmpty(configuration.getAllowedMethods()));
+        List<String> headers = orEmpty(configuration.getAllowedHeaders());
+        this.allowAllHeaders = headers.contains(CorsConfiguration.ALL);
+        this.allowedHeaders = headers.stream().map(header -> header.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+        this.allowMethodsValue = String.join(", ", allowedMethods);
+        this.allowHeadersValue = allowAllHeaders ? null : String.join(", ", headers);
+        this.allowCredentialsValue = Boolean.TRUE.equals(configuration.getAllowCredentials()) ? "true" : null;
+        this.maxAgeValue = configuration.getMaxAge() != null ? configuration.getMaxAge().toString() : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass.of(request);
+        if (!CorsUtils.isPreFlightRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.VARY, VARY);
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        String requestMethod = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        String requestHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+        if (!allowedOrigins.contains(origin) || !allowedMethods.contains(requestMethod) || !headersAllowed(requestHeaders)) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            response.getOutputStream().write(INVALID_CORS_REQUEST);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, allowMethodsValue);
+        if (requestHeaders != null && !requestHeaders.isBlank()) {
+            // With "*" the requested headers are echoed, as the regular CORS processing does
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, allowAllHeaders ? requestHeaders : allowHeadersValue);
+        }
+        if (allowCredentialsValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, allowCredentialsValue);
+        }
+        if (maxAgeValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAgeValue);
+        }
+        response.setStatus(HttpStatus.OK.value());
+    }
+
+    private boolean headersAllowed(String requestHeaders) {
+        if (allowAllHeaders || requestHeaders == null) {
+            return true;
+        }
+        for (String header : requestHeaders.split(",")) {
+            String name = header.trim();
+            if (!name.isEmpty() && !allowedHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+}
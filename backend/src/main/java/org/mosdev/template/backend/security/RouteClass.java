@@ -0,0 +1,119 @@
+package org.mosdev.template.backend.security;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Coarse class of a request path, computed once per request and kept as a request attribute
+ * so filters can decide how much work a request needs without matching path patterns again.
+ * <p>
+ * Paths are classified after percent-decoding and removing path parameters, as Spring MVC routes them,
+ * so {@code /%61pi/...} is an API request. The classes only select work; the extension heuristic of
+ * {@link #STATIC} must not grant access, security rules use explicit paths instead.
+ */
+public enum RouteClass {
+
+    /**
+     * REST endpoints under {@code /api}
+     */
+    API,
+
+    /**
+     * Swagger UI and OpenAPI documents, restricted to developers
+     */
+    DOCS,
+
+    /**
+     * Actuator endpoints under {@code /actuator}
+     */
+    ACTUATOR,
+
+    /**
+     * Frontend build output: {@code /assets/**} and files with an extension
+     */
+    STATIC,
+
+    /**
+     * Everything else: SPA routes, login, logout and error pages
+     */
+    OTHER;
+
+    /**
+     * Request attribute holding the class of the current request
+     */
+    public static final String ATTRIBUTE = RouteClass.class.getName();
+
+    // Decodes the path and removes ";" parameters and duplicate slashes, like the MVC lookup path
+    private static final UrlPathHelper PATH_HELPER = UrlPathHelper.defaultInstance;
+
+    /**
+     * Get the class of a request, classifying it on first use.
+     * Only the original request dispatch is cached, forwards and error dispatches are classified by their own path.
+     *
+     * @param request The current request
+     * @return The route class
+     */
+    public static RouteClass of(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return classify(pathWithinApplication(request));
+        }
+        if (request.getAttribute(ATTRIBUTE) instanceof RouteClass routeClass) {
+            return routeClass;
+        }
+        RouteClass routeClass = classify(pathWithinApplication(request));
+        request.setAttribute(ATTRIBUTE, routeClass);
+        return routeClass;
+    }
+
+    /**
+     * Classify a path within the application
+     *
+     * @param path The path without the context path
+     * @return The route class
+     */
+    public static RouteClass classify(String path) {
+        if (hasPrefix(path, "/api")) {
+            return API;
+        }
+        if (hasPrefix(path, "/swagger-ui") || hasPrefix(path, "/v3/api-docs")) {
+            return DOCS;
+        }
+        if (hasPrefix(path, "/actuator")) {
+            return ACTUATOR;
+        }
+        if (hasPrefix(path, "/assets") || hasExtension(path)) {
+            return STATIC;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Get a security matcher for this route class
+     *
+     * @return A matcher comparing the cached class of the request
+     */
+    public RequestMatcher matcher() {
+        return request -> of(request) == this;
+    }
+
+    /**
+     * Get the decoded path of a request within the application, as Spring MVC matches it
+     *
+     * @param request The request
+     * @return The path without the context path
+     */
+    public static String pathWithinApplication(HttpServletRequest request) {
+        return PATH_HELPER.getPathWithinApplication(request);
+    }
+
+    // Same as the Ant pattern "prefix/**": the prefix itself or anything below it
+    private static boolean hasPrefix(String path, String prefix) {
+        return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+
+    private static boolean hasExtension(String path) {
+        return path.indexOf('.', path.lastIndexOf('/') + 1) > 0;
+    }
+}
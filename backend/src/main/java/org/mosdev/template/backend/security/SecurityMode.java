@@ -0,0 +1,17 @@
+package org.mosdev.template.backend.security;
+
+/**
+ * How API clients are authenticated, selected per profile with {@code app.security.mode}
+ */
+public enum SecurityMode {
+
+    /**
+     * Form login with an HTTP session holding the security context
+     */
+    SESSION,
+
+    /**
+     * No HTTP session: HTTP Basic or signed bearer tokens on every request; needs {@code app.security.token.secret}
+     */
+    STATELESS
+}
@@ -0,0 +1,129 @@
+package org.mosdev.template.backend.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Issues and verifies HS256-signed bearer tokens for the stateless security mode.
+ * The signing key is held locally: {@code app.security.token.secret} (Base64, at least 256 bits)
+ * must be shared by all nodes. The stateless mode refuses to start without it; the session mode,
+ * which does not accept bearer tokens, falls back to a random per-process key.
+ */
+@Slf4j
+@Component
+public class TokenService {
+
+    /**
+     * Claim holding the granted authorities, e.g. {@code ROLE_USER}
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    private static final String ISSUER = "backend";
+
+    private final Duration ttl;
+
+    private final JwtEncoder encoder;
+
+    private final JwtDecoder decoder;
+
+    public TokenService(@Value("${app.security.mode:session}") SecurityMode securityMode,
+                        @Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) {
+        if (secret.isBlank() && securityMode == SecurityMode.STATELESS) {
+            throw new IllegalStateException("app.security.token.secret must be set in stateless mode,"
+                    + " a random key would only verify tokens on the node that issued them until it restarts");
+        }
+        SecretKey key = secret.isBlank() ? generateKey() : decodeKey(secret);
+        this.ttl = ttl;
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+    }
+
+    /**
+     * Issue a signed token for an authenticated principal
+     *
+     * @param authentication The authenticated principal
+     * @return The signed token
+     */
+    public Jwt issue(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLES_CLAIM, roles)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims));
+    }
+
+    /**
+     * Get the decoder verifying the signature and expiry of issued tokens
+     *
+     * @return The JWT decoder
+     */
+    public JwtDecoder decoder() {
+        return decoder;
+    }
+
+    /**
+     * Create the converter mapping the roles claim to granted authorities
+     *
+     * @return The JWT authentication converter
+     */
+    public static JwtAuthenticationConverter authenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(ROLES_CLAIM);
+        authorities.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
+    private static SecretKey generateKey() {
+        log.info("app.security.token.secret is not set, tokens are signed with a random per-process key");
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("HmacSHA256");
+            generator.init(256);
+            return generator.generateKey();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private static SecretKey decodeKey(String secret) {
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must be at least 256 bits");
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+}
@@ -0,0 +1,337 @@
+package org.mosdev.template.backend.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP session store on the application database (table {@code app_session}, see {@code db/session-schema.sql}).
+ * <p>
+ * Most requests only read their session and touch its last access time. Sessions are therefore kept in a
+ * near-cache of {@code app.session.near-cache.maximum-size} entries for {@code app.session.near-cache.time-to-live},
+ * and a save that changed nothing but the last access time is only recorded in memory: the access times are written
+ * in one JDBC batch every {@code app.session.flush-interval}. A save that changed attributes, the timeout or the id
+ * is written immediately. Expired sessions are deleted every {@code app.session.cleanup-interval}.
+ * <p>
+ * Every write of a row stores a new random {@code version}. With several instances, a near-cache hit is checked
+ * against the version of the row, so a session deleted on logout, moved to a new id or changed on another instance
+ * is not served from the cache; the check reads one column by primary key instead of the attributes. When the load
+ * balancer keeps each session on one instance ({@code app.session.sticky=true}), hits are trusted for the time to
+ * live without the check. Cleanup spares sessions for one flush interval past their expiry, as their last access
+ * may still be pending on another instance.
+ */
+@Slf4j
+public class CachingJdbcSessionRepository implements SessionRepository<StoredSession>, SmartLifecycle {
+
+    private static final String SELECT = "select creation_time, last_access_time, max_inactive_seconds, attributes,"
+            + " version from app_session where id = ?";
+
+    private static final String SELECT_VERSION = "select version from app_session where id = ?";
+
+    private static final String INSERT = "insert into app_session"
+            + " (id, creation_time, last_access_time, max_inactive_seconds, expiry_time, attributes, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "update app_session set last_access_time = ?, max_inactive_seconds = ?,"
+            + " expiry_time = ?, attributes = ?, version = ? where id = ?";
+
+    private static final String CHANGE_ID = "update app_session set id = ?, version = ? where id = ?";
+
+    // Never moves the access time back, an immediate write may have stored a later one.
+    // The expiry is computed in Java: H2 types "? + max_inactive_seconds * 1000" as INT, which epoch millis overflow
+    private static final String TOUCH = "update app_session set last_access_time = ?, expiry_time = ?"
+            + " where id = ? and last_access_time < ?";
+
+    private static final String DELETE = "delete from app_session where id = ?";
+
+    private static final String DELETE_EXPIRED = "delete from app_session where expiry_time < ?";
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration defaultMaxInactiveInterval;
+
+    private final Duration flushInterval;
+
+    private final boolean initializeSchema;
+
+    private final boolean sticky;
+
+    private final Cache<String, CachedSession> nearCache;
+
+    // Last access times not written yet, by session id
+    private final Map<String, PendingAccess> pendingAccess = new ConcurrentHashMap<>();
+
+    private final SerializingConverter serializer = new SerializingConverter();
+
+    private final DeserializingConverter deserializer;
+
+    private final Counter accessWrites;
+
+    private final Counter accessCoalesced;
+
+    private volatile boolean running;
+
+    public CachingJdbcSessionRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                        Duration defaultMaxInactiveInterval, int nearCacheMaximumSize,
+                                        Duration nearCacheTimeToLive, Duration flushInterval, boolean initializeSchema,
+                                        boolean sticky) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.flushInterval = flushInterval;
+        this.initializeSchema = initializeSchema;
+        this.sticky = sticky;
+        this.deserializer = new DeserializingConverter(getClass().getClassLoader());
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaximumSize)
+                .expireAfterWrite(nearCacheTimeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "sessions");
+        this.accessWrites = Counter.builder("sessions.access.writes")
+                .description("Last access times written in batches")
+                .register(meterRegistry);
+        this.accessCoalesced = Counter.builder("sessions.access.coalesced")
+                .description("Session saves that only changed the last access time and were not written immediately")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public StoredSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new StoredSession(session, true);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        MapSession delegate = session.getDelegate();
+        String id = delegate.getId();
+        if (session.isNew()) {
+            long version = ThreadLocalRandom.current().nextLong();
+            jdbcTemplate.update(INSERT, id, delegate.getCreationTime().toEpochMilli(),
+                    delegate.getLastAccessedTime().toEpochMilli(), (int) delegate.getMaxInactiveInterval().toSeconds(),
+                    expiryTime(delegate), serialize(delegate), version);
+            // A copy, the request may still change its session after saving it
+            nearCache.put(id, new CachedSession(new MapSession(delegate), version));
+        } else if (session.isIdChanged() || session.isAttributesChanged()) {
+            long version = ThreadLocalRandom.current().nextLong();
+            if (session.isIdChanged()) {
+                jdbcTemplate.update(CHANGE_ID, id, version, session.getOriginalId());
+                nearCache.invalidate(session.getOriginalId());
+                pendingAccess.remove(session.getOriginalId());
+            }
+            jdbcTemplate.update(UPDATE, delegate.getLastAccessedTime().toEpochMilli(),
+                    (int) delegate.getMaxInactiveInterval().toSeconds(), expiryTime(delegate), serialize(delegate),
+                    version, id);
+            pendingAccess.remove(id);
+            nearCache.put(id, new CachedSession(new MapSession(delegate), version));
+        } else {
+            // The cached entry stays as it is, reads apply the pending access time
+            // A changed max inactive interval is written immediately, so the stored one is the session's
+            pendingAccess.merge(id, new PendingAccess(delegate.getLastAccessedTime().toEpochMilli(), expiryTime(delegate)),
+                    (pending, access) -> access.lastAccess() > pending.lastAccess() ? access : pending);
+            accessCoalesced.increment();
+        }
+        session.markSaved();
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        CachedSession cached = nearCache.getIfPresent(id);
+        if (cached != null && !sticky) {
+            List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION, Long.class, id);
+            if (versions.isEmpty()) {
+                // Deleted or moved to a new id by another instance
+                nearCache.invalidate(id);
+                return null;
+            }
+            if (versions.get(0) != cached.version()) {
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            cached = load(id);
+            if (cached == null) {
+                return null;
+            }
+            nearCache.put(id, cached);
+        }
+        MapSession session = new MapSession(cached.session());
+        PendingAccess access = pendingAccess.get(id);
+        if (access != null && access.lastAccess() > session.getLastAccessedTime().toEpochMilli()) {
+            session.setLastAccessedTime(Instant.ofEpochMilli(access.lastAccess()));
+        }
+        if (session.isExpired()) {
+            // The row is left to the cleanup, its last access may be pending on another instance
+            nearCache.invalidate(id);
+            return null;
+        }
+        return new StoredSession(session, false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbcTemplate.update(DELETE, id);
+        nearCache.invalidate(id);
+        pendingAccess.remove(id);
+    }
+
+    /**
+     * Write the pending last access times in batches
+     *
+     * @return The number of sessions written
+     */
+    @Scheduled(fixedDelayString = "${app.session.flush-interval:10s}")
+    public int flushAccessTimes() {
+        if (pendingAccess.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batch = new ArrayList<>(Math.min(pendingAccess.size(), FLUSH_BATCH_SIZE));
+        int written = 0;
+        for (Map.Entry<String, PendingAccess> entry : pendingAccess.entrySet()) {
+            // Only drops the entry if no later access was recorded meanwhile
+            if (pendingAccess.remove(entry.getKey(), entry.getValue())) {
+                PendingAccess access = entry.getValue();
+                batch.add(new Object[]{access.lastAccess(), access.expiryTime(), entry.getKey(), access.lastAccess()});
+            }
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(TOUCH, batch);
+                written += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(TOUCH, batch);
+            written += batch.size();
+        }
+        accessWrites.increment(written);
+        return written;
+    }
+
+    /**
+     * Delete the sessions that expired more than one flush interval ago
+     *
+     * @return The number of sessions deleted
+     */
+    @Scheduled(fixedDelayString = "${app.session.cleanup-interval:1m}")
+    public int cleanupExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED, System.currentTimeMillis() - flushInterval.toMillis());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired sessions", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Create the session table if {@code app.session.initialize-schema} is set
+     */
+    @Override
+    public void start() {
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/session-schema.sql"))
+                    .execute(jdbcTemplate.getDataSource());
+        }
+        running = true;
+    }
+
+    /**
+     * Write the pending last access times, so a restart does not expire active sessions early
+     */
+    @Override
+    public void stop() {
+        running = false;
+        flushAccessTimes();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server, so requests find the table and their last access is written
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private CachedSession load(String id) {
+        List<CachedSession> sessions = jdbcTemplate.query(SELECT, (resultSet, rowNum) -> {
+            MapSession session = new MapSession(id);
+            session.setCreationTime(Instant.ofEpochMilli(resultSet.getLong("creation_time")));
+            session.setLastAccessedTime(Instant.ofEpochMilli(resultSet.getLong("last_access_time")));
+            session.setMaxInactiveInterval(Duration.ofSeconds(resultSet.getInt("max_inactive_seconds")));
+            byte[] attributes = resultSet.getBytes("attributes");
+            if (attributes != null) {
+                deserialize(id, attributes).forEach(session::setAttribute);
+            }
+            return new CachedSession(session, resultSet.getLong("version"));
+        }, id);
+        return sessions.isEmpty() ? null : sessions.get(0);
+    }
+
+    private byte[] serialize(MapSession session) {
+        HashMap<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return serializer.convert(attributes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(String id, byte[] attributes) {
+        try {
+            return (Map<String, Object>) deserializer.convert(attributes);
+        } catch (RuntimeException e) {
+            // Attributes written by an incompatible version: the session starts empty instead of failing every request
+            log.warn("Discarding unreadable attributes of session {}: {}", id, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static long expiryTime(MapSession session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        return maxInactive.isNegative() ? Long.MAX_VALUE
+                : session.getLastAccessedTime().toEpochMilli() + maxInactive.toMillis();
+    }
+
+    /**
+     * A session as stored, never handed out: readers get a copy
+     *
+     * @param session The session
+     * @param version The version of the row it was read from or written to
+     */
+    private record CachedSession(MapSession session, long version) {
+    }
+
+    /**
+     * A last access time waiting for the next batch
+     *
+     * @param lastAccess The last access time, in epoch millis
+     * @param expiryTime The expiry time that goes with it, in epoch millis
+     */
+    private record PendingAccess(long lastAccess, long expiryTime) {
+    }
+}
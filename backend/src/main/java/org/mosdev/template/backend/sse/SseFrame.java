@@ -0,0 +1,11 @@
+package org.mosdev.template.backend.sse;
+
+/**
+ * One pre-rendered event stream frame, shared by all subscribers it is written to
+ *
+ * @param id    The sequence number of the event, or 0 for frames outside the replay buffer (heartbeats, control frames)
+ * @param topic The event name, or null for frames sent to every subscriber
+ * @param bytes The UTF-8 encoded frame, ending with the blank line
+ */
+record SseFrame(long id, String topic, byte[] bytes) {
+}
@@ -0,0 +1,368 @@
+package org.mosdev.template.backend.sse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.InvalidRequestException;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Fan-out hub of the server-sent event stream {@code GET /api/events}.
+ * <p>
+ * An event is serialized once into a complete {@code text/event-stream} frame; the same byte array is
+ * queued to every subscriber and written by a small writer pool, so publishing allocates nothing per
+ * subscriber. The pool writes without blocking, so clients that stop reading do not delay the others.
+ * A subscriber whose queue of {@code app.sse.queue-capacity} frames is full is evicted:
+ * its response is completed and the client reconnects with {@code Last-Event-ID}. The last
+ * {@code app.sse.replay-size} events are kept in a ring buffer and replayed on reconnect; a client that
+ * missed more gets a {@code reset} event and reloads its state. Event ids are {@code <epoch>-<sequence>},
+ * with a random epoch per hub, so a client coming back from a restarted or another instance is also reset.
+ * <p>
+ * Heartbeat comments every {@code app.sse.heartbeat-interval} keep proxies from closing idle streams
+ * and detect closed connections. Each client, the authenticated user or else the remote address,
+ * holds at most {@code app.sse.max-subscribers-per-client} streams.
+ */
+@Slf4j
+@Component
+public class SseHub implements DisposableBean {
+
+    /**
+     * Event name sent when the requested events are no longer in the replay buffer
+     */
+    public static final String RESET_EVENT = "reset";
+
+    // Topics become event names, so they must not contain line breaks
+    private static final Pattern TOPIC = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final SseFrame HEARTBEAT = new SseFrame(0, null, ":\n\n".getBytes(StandardCharsets.US_ASCII));
+
+    private static final byte[] DATA_SUFFIX = "\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ApiResponseJsonWriter writer;
+
+    private final int queueCapacity;
+
+    private final int maxSubscribers;
+
+    private final int maxSubscribersPerClient;
+
+    private final SseFrame retryFrame;
+
+    private final SseFrame resetFrame;
+
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Integer> clientSubscribers = new ConcurrentHashMap<>();
+
+    // Guards the ring buffer and the event ids, so every subscriber sees the events in the same order
+    private final Object lock = new Object();
+
+    private final SseFrame[] ring;
+
+    private long lastId;
+
+    // Sequences restart with every instance; the epoch tells them apart
+    private final String epoch = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter published;
+
+    private final Counter evicted;
+
+    public SseHub(ApiResponseJsonWriter writer, MeterRegistry meterRegistry,
+                  @Value("${app.sse.replay-size:1024}") int replaySize,
+                  @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                  @Value("${app.sse.max-subscribers:20000}") int maxSubscribers,
+                  @Value("${app.sse.max-subscribers-per-client:16}") int maxSubscribersPerClient,
+                  @Value("${app.sse.writer-threads:16}") int writerThreads,
+                  @Value("${app.sse.reconnect-delay:3s}") Duration reconnectDelay,
+                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.writer = writer;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerClient = maxSubscribersPerClient;
+        this.ring = new SseFrame[replaySize];
+        this.retryFrame = controlFrame("retry: " + reconnectDelay.toMillis() + "\n\n");
+        this.resetFrame = controlFrame("event: " + RESET_EVENT + "\ndata: {}\n\n");
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("sse-", 1).factory()
+                : Thread.ofPlatform().name("sse-", 1).daemon(true).factory();
+        // At most one pending write task per subscriber, so the queue never overflows
+        this.executor = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxSubscribers), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open event streams")
+                .register(meterRegistry);
+        this.published = Counter.builder("sse.events.published")
+                .description("Events published to the event stream")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("sse.subscribers.evicted")
+                .description("Event streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Turn a request into an event stream subscription.
+     * The request is put into async mode and no request thread is held while the stream is open.
+     *
+     * @param request     The request
+     * @param response    The response
+     * @param lastEventId The id of the last event received before a reconnect, or null
+     * @param topics      The event names to receive, or null for all
+     */
+    public void subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId, Set<String> topics)
+            throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ApplicationException(ErrorCode.SERVICE_UNAVAILABLE, "Too many event stream subscribers", null, false);
+        }
+        Principal principal = request.getUserPrincipal();
+        String client = principal != null ? "u:" + principal.getName() : "ip:" + request.getRemoteAddr();
+        if (!acquire(client)) {
+            throw new ApplicationException(ErrorCode.TOO_MANY_REQUESTS, "Too many event streams for this client", null, false);
+        }
+        try {
+            open(request, response, client, lastEventId, topics);
+        } catch (IOException | RuntimeException e) {
+            release(client);
+            throw e;
+        }
+    }
+
+    private void open(HttpServletRequest request, HttpServletResponse response, String client, String lastEventId,
+                      Set<String> topics) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Disables response buffering in NGINX
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0);
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        SseSubscriber subscriber;
+        synchronized (lock) {
+            List<SseFrame> replay = replay(lastEventId);
+            subscriber = new SseSubscriber(this, client, asyncContext, outputStream, executor, topics,
+                    queueCapacity + replay.size() + 2);
+            subscriber.offer(retryFrame);
+            replay.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+        asyncContext.addListener(subscriber);
+        try {
+            // The container calls onWritePossible, which writes the queued frames
+            outputStream.setWriteListener(subscriber);
+        } catch (RuntimeException e) {
+            // Released by the caller
+            subscribers.remove(subscriber);
+            subscriber.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Publish an event to all subscribers of its topic
+     *
+     * @param topic The event name
+     * @param event The event, in the ApiResponse envelope
+     * @return The event id
+     */
+    public String publish(String topic, ApiResponse<?> event) {
+        if (topic == null || !TOPIC.matcher(topic).matches()) {
+            throw new InvalidRequestException("Invalid topic: " + topic);
+        }
+        byte[] data = serialize(event);
+        SseFrame frame;
+        List<SseSubscriber> slow = null;
+        synchronized (lock) {
+            long id = ++lastId;
+            byte[] prefix = ("id: " + eventId(id) + "\nevent: " + topic + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = new byte[prefix.length + data.length + DATA_SUFFIX.length];
+            System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+            System.arraycopy(data, 0, bytes, prefix.length, data.length);
+            System.arraycopy(DATA_SUFFIX, 0, bytes, prefix.length + data.length, DATA_SUFFIX.length);
+            frame = new SseFrame(id, topic, bytes);
+            ring[(int) (id % ring.length)] = frame;
+            for (SseSubscriber subscriber : subscribers) {
+                if (!subscriber.offer(frame)) {
+                    if (slow == null) {
+                        slow = new ArrayList<>();
+                    }
+                    slow.add(subscriber);
+                }
+            }
+        }
+        published.increment();
+        evict(slow);
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+        return eventId(frame.id());
+    }
+
+    /**
+     * Send a heartbeat comment to every subscriber
+     */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval:15s}")
+    public void heartbeat() {
+        List<SseSubscriber> slow = null;
+        for (SseSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(HEARTBEAT)) {
+                if (slow == null) {
+                    slow = new ArrayList<>();
+                }
+                slow.add(subscriber);
+            } else {
+                subscriber.schedule();
+            }
+        }
+        evict(slow);
+    }
+
+    /**
+     * Get the number of open event streams
+     *
+     * @return The number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(this::close);
+        executor.shutdownNow();
+    }
+
+    void close(SseSubscriber subscriber) {
+        subscriber.close();
+        remove(subscriber);
+    }
+
+    void remove(SseSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            release(subscriber.getClient());
+        }
+    }
+
+    private boolean acquire(String client) {
+        boolean[] acquired = new boolean[1];
+        clientSubscribers.compute(client, (key, count) -> {
+            int current = count != null ? count : 0;
+            acquired[0] = current < maxSubscribersPerClient;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0];
+    }
+
+    private void release(String client) {
+        clientSubscribers.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void evict(List<SseSubscriber> slow) {
+        if (slow == null) {
+            return;
+        }
+        for (SseSubscriber subscriber : slow) {
+            close(subscriber);
+            evicted.increment();
+        }
+        log.debug("Evicted {} slow event stream subscribers", slow.size());
+    }
+
+    // Called with the lock held
+    private List<SseFrame> replay(String lastEventId) {
+        if (lastEventId == null) {
+            return List.of();
+        }
+        long lastSequence = sequenceOf(lastEventId);
+        // An id of another instance, or of this one before a restart: which events were missed is unknown
+        if (lastSequence < 0 || lastSequence > lastId) {
+            return List.of(resetFrame);
+        }
+        if (lastSequence == lastId) {
+            return List.of();
+        }
+        long oldest = Math.max(1, lastId - ring.length + 1);
+        List<SseFrame> frames = new ArrayList<>();
+        if (lastSequence + 1 < oldest) {
+            frames.add(resetFrame);
+        }
+        for (long id = Math.max(lastSequence + 1, oldest); id <= lastId; id++) {
+            frames.add(ring[(int) (id % ring.length)]);
+        }
+        return frames;
+    }
+
+    /**
+     * The id sent with the event of a sequence number
+     */
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence number of an event id of this instance, or -1
+    private long sequenceOf(String eventId) {
+        int start = epoch.length() + 1;
+        if (eventId.length() <= start || !eventId.startsWith(epoch) || eventId.charAt(epoch.length()) != '-') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId, start, eventId.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private byte[] serialize(ApiResponse<?> event) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+            writer.writeEnvelope(generator, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static SseFrame controlFrame(String frame) {
+        return new SseFrame(0, null, frame.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,179 @@
+package org.mosdev.template.backend.sse;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One open event stream.
+ * Frames are queued by reference, so publishing to a subscriber allocates nothing. The subscriber is
+ * its own write task: it runs on the writer pool at most once at a time and drains the queue with one
+ * flush. Writes are non-blocking: the task stops when the output stream is not ready and the container
+ * calls {@link #onWritePossible()} once the client has read the pending bytes, so a client that stops
+ * reading holds no writer thread. Its queue fills up instead and the hub evicts it.
+ */
+final class SseSubscriber implements Runnable, AsyncListener, WriteListener {
+
+    private final SseHub hub;
+
+    private final String client;
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream outputStream;
+
+    private final Executor executor;
+
+    private final Set<String> topics;
+
+    private final ArrayBlockingQueue<SseFrame> queue;
+
+    // Write requests since the task last checked; the task is pending or running while it is not zero
+    private final AtomicInteger requests = new AtomicInteger();
+
+    // Only accessed by the write task
+    private boolean flushPending;
+
+    private volatile boolean closed;
+
+    SseSubscriber(SseHub hub, String client, AsyncContext asyncContext, ServletOutputStream outputStream,
+                  Executor executor, Set<String> topics, int queueCapacity) {
+        this.hub = hub;
+        this.client = client;
+        this.asyncContext = asyncContext;
+        this.outputStream = outputStream;
+        this.executor = executor;
+        this.topics = topics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queue a frame if the subscriber listens to its topic
+     *
+     * @param frame The frame
+     * @return False if the queue is full, i.e. the client does not keep up
+     */
+    boolean offer(SseFrame frame) {
+        if (frame.topic() != null && topics != null && !topics.contains(frame.topic())) {
+            return true;
+        }
+        return queue.offer(frame);
+    }
+
+    /**
+     * Hand the subscriber to the writer pool if frames are queued, unless a write task is already pending
+     */
+    void schedule() {
+        if (!queue.isEmpty()) {
+            requestWrite();
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        do {
+            drain();
+            missed = requests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    // Writes while the stream is ready; when it is not, the container calls onWritePossible later
+    private void drain() {
+        try {
+            while (!closed && outputStream.isReady()) {
+                SseFrame frame = queue.poll();
+                if (frame != null) {
+                    outputStream.write(frame.bytes());
+                    flushPending = true;
+                } else if (flushPending) {
+                    flushPending = false;
+                    outputStream.flush();
+                } else {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Client gone, or the stream was completed while writing
+            hub.close(this);
+        }
+    }
+
+    private void requestWrite() {
+        if (!closed && requests.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // The hub is shutting down
+                hub.close(this);
+            }
+        }
+    }
+
+    /**
+     * Complete the response; the client reconnects with the id of the last event it received
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Get the client holding the stream, counted against the per-client limit
+     *
+     * @return The client key
+     */
+    String getClient() {
+        return client;
+    }
+
+    @Override
+    public void onWritePossible() {
+        requestWrite();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        hub.close(this);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        hub.remove(this);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        hub.close(this);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        hub.close(this);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
@@ -1,10 +1,21 @@
 package org.mosdev.template.backend.util;
 
 import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.model.NdjsonStream;
+import org.mosdev.template.backend.model.StreamingApiResponse;
+import org.mosdev.template.backend.pagination.Cursors;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Utility class to standardize successful API responses.
@@ -43,7 +54,6 @@ public class ResponseWrapper {
                 .success(true)
                 .message(message)
                 .data(data)
-                .metadata(new java.util.HashMap<>())
                 .build();
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -62,7 +72,6 @@ public class ResponseWrapper {
                 .timestamp(java.time.LocalDateTime.now())
                 .success(true)
                 .message(message)
-                .metadata(new java.util.HashMap<>())
                 .build();
         return new ResponseEntity<>(response, HttpStatus.NO_CONTENT);
     }
@@ -85,11 +94,35 @@ public class ResponseWrapper {
                 .success(status.is2xxSuccessful())
                 .message(message)
                 .data(data)
-                .metadata(new java.util.HashMap<>())
                 .build();
         return new ResponseEntity<>(response, status);
     }
 
+    /**
+     * Wrap data in an ApiResponse with HTTP 202 ACCEPTED status, for work that continues in the background
+     *
+     * @param data     The data to include in the response
+     * @param location The URI of the resource reporting the progress
+     * @param method   The HTTP method used
+     * @param message  Additional message
+     * @param metadata Metadata as key-value pairs
+     * @param <T>      The type of data
+     * @return ResponseEntity containing ApiResponse, with the Location header set
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> accepted(T data, URI location, String method, String message,
+                                                              Map<String, Object> metadata) {
+        ApiResponse<T> response = ApiResponse.<T>builder()
+                .code(HttpStatus.ACCEPTED.value())
+                .method(method)
+                .timestamp(LocalDateTime.now())
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+        metadata.forEach(response::addMetadata);
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
     /**
      * Wrap data in an ApiResponse with HTTP 200 OK status and metadata
      *
@@ -105,4 +138,136 @@ public class ResponseWrapper {
         metadata.forEach(response::addMetadata);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Wrap one page of a keyset-paginated query in an ApiResponse with HTTP 200 OK status.
+     * The metadata holds {@code hasMore}, {@code size}, {@code nextCursor} (only when there is a next page)
+     * and {@code estimatedTotal} when an estimate is given; no {@code COUNT(*)} is run.
+     *
+     * @param window         The page read with a {@code KeysetPageRequest}
+     * @param estimatedTotal Estimated total number of elements, or null to omit it
+     * @param method         The HTTP method used
+     * @param message        Additional message
+     * @param <T>            The type of the elements
+     * @return ResponseEntity containing ApiResponse
+     */
+    public static <T> ResponseEntity<ApiResponse<List<T>>> page(Window<T> window, Long estimatedTotal, String method, String message) {
+        ApiResponse<List<T>> response = ApiResponse.success(window.getContent(), method, message);
+        boolean hasMore = window.hasNext() && !window.isEmpty();
+        response.addMetadata("hasMore", hasMore);
+        response.addMetadata("size", window.size());
+        if (hasMore) {
+            response.addMetadata("nextCursor", Cursors.encode(window.positionAt(window.size() - 1)));
+        }
+        if (estimatedTotal != null) {
+            response.addMetadata("estimatedTotal", estimatedTotal);
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Add request profiling entries to the metadata of a response (debug metrics mode)
+     *
+     * @param response         The response to annotate
+     * @param serverTimeMicros Time spent on the server until serialization, in microseconds
+     * @param allocatedBytes   Heap bytes allocated by the request thread, or a negative value if unavailable
+     */
+    public static void addDebugMetrics(ApiResponse<?> response, long serverTimeMicros, long allocatedBytes) {
+        response.addMetadata("serverTimeMicros", serverTimeMicros);
+        if (allocatedBytes >= 0) {
+            response.addMetadata("allocatedBytes", allocatedBytes);
+        }
+    }
+
+    /**
+     * Stream data in an ApiResponse envelope with HTTP 200 OK status.
+     * The elements are written one by one while the stream is consumed, and the
+     * metadata closes the envelope with the row count and the elapsed time.
+     * The stream is closed once the response has been written.
+     *
+     * @param data    The elements to stream
+     * @param method  The HTTP method used
+     * @param message Additional message
+     * @param <T>     The type of the elements
+     * @return ResponseEntity containing StreamingApiResponse
+     */
+    public static <T> ResponseEntity<StreamingApiResponse<T>> stream(Stream<T> data, String method, String message) {
+        StreamingApiResponse<T> response = StreamingApiResponse.<T>builder()
+                .code(HttpStatus.OK.value())
+                .method(method)
+                .timestamp(LocalDateTime.now())
+                .success(true)
+                .message(message)
+                .source(() -> data)
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Stream the result of a repository query in an ApiResponse envelope with HTTP 200 OK status.
+     * The query is only executed when the response body is written, inside a read-only transaction
+     * that stays open until the last element has been written. For a MariaDB server-side cursor
+     * the repository method should set a fetch size hint, and {@code afterWrite} should detach
+     * each entity (e.g. {@code entityManager::detach}) so the persistence context does not grow.
+     *
+     * @param query      Executes the repository query returning a Stream
+     * @param afterWrite Called after each element has been written
+     * @param method     The HTTP method used
+     * @param message    Additional message
+     * @param <T>        The type of the elements
+     * @return ResponseEntity containing StreamingApiResponse
+     */
+    public static <T> ResponseEntity<StreamingApiResponse<T>> streamQuery(Supplier<Stream<T>> query, Consumer<? super T> afterWrite,
+                                                                          String method, String message) {
+        StreamingApiResponse<T> response = StreamingApiResponse.<T>builder()
+                .code(HttpStatus.OK.value())
+                .method(method)
+                .timestamp(LocalDateTime.now())
+                .success(true)
+                .message(message)
+                .source(query)
+                .afterWrite(afterWrite)
+                .readOnlyTransaction(true)
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Export records as newline-delimited JSON with HTTP 200 OK status.
+     * The records are flushed to the client in batches while the stream is consumed.
+     *
+     * @param records   The records to export
+     * @param batchSize Number of records between two flushes, 0 for the configured default
+     * @param <T>       The type of the records
+     * @return ResponseEntity containing NdjsonStream
+     */
+    public static <T> ResponseEntity<NdjsonStream<T>> ndjson(Stream<T> records, int batchSize) {
+        NdjsonStream<T> export = NdjsonStream.<T>builder()
+                .source(() -> records)
+                .batchSize(batchSize)
+                .build();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(export);
+    }
+
+    /**
+     * Export the result of a repository query as newline-delimited JSON with HTTP 200 OK status.
+     * The query is executed inside a read-only transaction while the response body is written,
+     * see {@link #streamQuery(Supplier, Consumer, String, String)}.
+     *
+     * @param query      Executes the repository query returning a Stream
+     * @param afterWrite Called after each record has been written
+     * @param batchSize  Number of records between two flushes, 0 for the configured default
+     * @param <T>        The type of the records
+     * @return ResponseEntity containing NdjsonStream
+     */
+    public static <T> ResponseEntity<NdjsonStream<T>> ndjsonQuery(Supplier<Stream<T>> query, Consumer<? super T> afterWrite,
+                                                                  int batchSize) {
+        NdjsonStream<T> export = NdjsonStream.<T>builder()
+                .source(query)
+                .afterWrite(afterWrite)
+                .readOnlyTransaction(true)
+                .batchSize(batchSize)
+                .build();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(export);
+    }
+}
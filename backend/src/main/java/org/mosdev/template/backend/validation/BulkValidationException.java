@@ -0,0 +1,27 @@
+package org.mosdev.template.backend.validation;
+
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+
+/**
+ * Thrown when a bulk payload has invalid items (400 Bad Request).
+ * The errors are reported in the {@code validationErrors} metadata of the response.
+ */
+public class BulkValidationException extends ApplicationException {
+
+    private final BulkValidationResult result;
+
+    public BulkValidationException(BulkValidationResult result) {
+        super(ErrorCode.VALIDATION_FAILED);
+        this.result = result;
+    }
+
+    /**
+     * Get the validation errors
+     *
+     * @return The validation result
+     */
+    public BulkValidationResult getResult() {
+        return result;
+    }
+}
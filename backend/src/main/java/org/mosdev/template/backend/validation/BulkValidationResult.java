@@ -0,0 +1,23 @@
+package org.mosdev.template.backend.validation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of validating a list of items with {@link BulkValidator}
+ *
+ * @param errors     Messages by property path, e.g. {@code items[12].name}, in item order
+ * @param errorCount Number of messages in {@code errors}
+ * @param truncated  Whether validation stopped at the error cap, so later items may have further errors
+ */
+public record BulkValidationResult(Map<String, List<String>> errors, int errorCount, boolean truncated) {
+
+    /**
+     * Check whether all validated items are valid
+     *
+     * @return True if there are no errors
+     */
+    public boolean isValid() {
+        return errorCount == 0;
+    }
+}
@@ -0,0 +1,225 @@
+package org.mosdev.template.backend.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.mosdev.template.backend.exception.InvalidRequestException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Validates the items of bulk payloads.
+ * Large lists are split into chunks validated in parallel on a bounded pool of
+ * {@code app.validation.threads} threads; the request thread validates the first chunk, and any chunk
+ * the full pool does not accept. All chunks stop as soon as {@code app.validation.max-errors} messages
+ * have been found, so a payload of thousands of broken items costs no more than its first few errors.
+ * Valid items allocate nothing beyond what the validator itself needs. Lists longer than
+ * {@code app.validation.max-items} are rejected before any item is validated.
+ */
+@Component
+public class BulkValidator implements DisposableBean {
+
+    private static final String NULL_ITEM_MESSAGE = "must not be null";
+
+    private final Validator validator;
+
+    private final int maxErrors;
+
+    private final int chunkSize;
+
+    private final int maxItems;
+
+    private final ThreadPoolExecutor executor;
+
+    public BulkValidator(Validator validator,
+                         @Value("${app.validation.max-errors:100}") int maxErrors,
+                         @Value("${app.validation.chunk-size:512}") int chunkSize,
+                         @Value("${app.validation.max-items:10000}") int maxItems,
+                         @Value("${app.validation.threads:4}") int threads,
+                         @Value("${app.validation.queue-capacity:64}") int queueCapacity) {
+        this.validator = validator;
+        this.maxErrors = maxErrors;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxItems = maxItems;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "validation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Also after shutdown, so every chunk is validated and counted down
+                (runnable, pool) -> runnable.run());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the largest number of items accepted in one payload
+     *
+     * @return The maximum number of items
+     */
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Validate all items of a list
+     *
+     * @param property The name of the list in the error paths, e.g. {@code items}
+     * @param items    The items to validate
+     * @param groups   Validation groups, none for the default group
+     * @param <T>      The type of the items
+     * @return The errors, at most {@code app.validation.max-errors} of them
+     * @throws InvalidRequestException If there are more than {@code app.validation.max-items} items
+     */
+    public <T> BulkValidationResult validate(String property, List<T> items, Class<?>... groups) {
+        int size = items.size();
+        if (size > maxItems) {
+            throw new InvalidRequestException("At most " + maxItems + " " + property + " can be sent at once");
+        }
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        @SuppressWarnings("unchecked")
+        List<ItemViolations<T>>[] found = new List[chunks];
+        AtomicInteger errorCount = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        IntConsumer validateChunk = chunk -> {
+            int end = Math.min(size, (chunk + 1) * chunkSize);
+            for (int i = chunk * chunkSize; i < end; i++) {
+                if (errorCount.get() >= maxErrors) {
+                    stopped.set(true);
+                    return;
+                }
+                T item = items.get(i);
+                Set<ConstraintViolation<T>> violations = item != null ? validator.validate(item, groups) : null;
+                if (item == null || !violations.isEmpty()) {
+                    errorCount.addAndGet(item == null ? 1 : violations.size());
+                    if (found[chunk] == null) {
+                        found[chunk] = new ArrayList<>();
+                    }
+                    found[chunk].add(new ItemViolations<>(i, violations));
+                }
+            }
+        };
+        if (chunks > 1) {
+            runInParallel(chunks, validateChunk);
+        } else if (chunks == 1) {
+            validateChunk.accept(0);
+        }
+        return collect(property, found, errorCount.get(), stopped.get());
+    }
+
+    /**
+     * Validate all items of a list and fail if any is invalid
+     *
+     * @param property The name of the list in the error paths, e.g. {@code items}
+     * @param items    The items to validate
+     * @param groups   Validation groups, none for the default group
+     * @param <T>      The type of the items
+     * @throws BulkValidationException If an item is invalid
+     * @throws InvalidRequestException  If there are more than {@code app.validation.max-items} items
+     */
+    public <T> void validateOrThrow(String property, List<T> items, Class<?>... groups) {
+        BulkValidationResult result = validate(property, items, groups);
+        if (!result.isValid()) {
+            throw new BulkValidationException(result);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // Runs the chunks after the first on the pool and the first one on the calling thread
+    private void runInParallel(int chunks, IntConsumer task) {
+        CountDownLatch done = new CountDownLatch(chunks - 1);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int index = chunk;
+            executor.execute(() -> {
+                try {
+                    task.accept(index);
+                } catch (RuntimeException ex) {
+                    failure.compareAndSet(null, ex);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        task.accept(0);
+        boolean interrupted = false;
+        // The chunks are bounded work and write to arrays owned by this call, so wait for all of them
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private <T> BulkValidationResult collect(String property, List<ItemViolations<T>>[] found, int totalErrors, boolean stopped) {
+        if (totalErrors == 0) {
+            return new BulkValidationResult(Map.of(), 0, false);
+        }
+        // Chunks are merged in order, so the reported errors are the first ones of the payload
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        int reported = 0;
+        boolean truncated = stopped || totalErrors > maxErrors;
+        outer:
+        for (List<ItemViolations<T>> chunk : found) {
+            if (chunk == null) {
+                continue;
+            }
+            for (ItemViolations<T> item : chunk) {
+                String prefix = property + '[' + item.index() + ']';
+                if (item.violations() == null) {
+                    if (reported == maxErrors) {
+                        truncated = true;
+                        break outer;
+                    }
+                    errors.computeIfAbsent(prefix, key -> new ArrayList<>(1)).add(NULL_ITEM_MESSAGE);
+                    reported++;
+                    continue;
+                }
+                for (ConstraintViolation<T> violation : item.violations()) {
+                    if (reported == maxErrors) {
+                        truncated = true;
+                        break outer;
+                    }
+                    String path = violation.getPropertyPath().toString();
+                    String key = path.isEmpty() ? prefix : prefix + '.' + path;
+                    errors.computeIfAbsent(key, ignored -> new ArrayList<>(1)).add(violation.getMessage());
+                    reported++;
+                }
+            }
+        }
+        return new BulkValidationResult(errors, reported, truncated);
+    }
+
+    private record ItemViolations<T>(int index, Set<ConstraintViolation<T>> violations) {
+    }
+}
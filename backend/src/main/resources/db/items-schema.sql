@@ -0,0 +1,12 @@
+-- Items (entity Item) for profiles that do not let Hibernate generate the schema (MariaDB; also valid on H2)
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS items (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    name        VARCHAR(255)   NOT NULL,
+    description VARCHAR(255),
+    price       DECIMAL(12, 2),
+    version     BIGINT         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_items_name_id ON items (name, id);
@@ -0,0 +1,17 @@
+-- Background jobs (entity Job) for profiles that do not let Hibernate generate the schema (MariaDB; also valid on H2)
+CREATE TABLE IF NOT EXISTS jobs (
+    id          VARCHAR(36)   NOT NULL PRIMARY KEY,
+    type        VARCHAR(64)   NOT NULL,
+    status      VARCHAR(16)   NOT NULL,
+    owner       VARCHAR(255),
+    payload     LONGTEXT,
+    result      LONGTEXT,
+    error       VARCHAR(1000),
+    attempts    INT           NOT NULL,
+    -- DATETIME rather than TIMESTAMP, which MariaDB may update on every write
+    created_at  DATETIME(6)   NOT NULL,
+    started_at  DATETIME(6),
+    finished_at DATETIME(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_jobs_status_created ON jobs (status, created_at);
@@ -0,0 +1,13 @@
+-- HTTP sessions of CachingJdbcSessionRepository (MariaDB; also valid on H2)
+CREATE TABLE IF NOT EXISTS app_session (
+    id                   VARCHAR(64) NOT NULL PRIMARY KEY,
+    creation_time        BIGINT      NOT NULL,
+    last_access_time     BIGINT      NOT NULL,
+    max_inactive_seconds INT         NOT NULL,
+    expiry_time          BIGINT      NOT NULL,
+    attributes           MEDIUMBLOB,
+    -- New random value on every write, near-cache hits are checked against it
+    version              BIGINT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_app_session_expiry ON app_session (expiry_time);
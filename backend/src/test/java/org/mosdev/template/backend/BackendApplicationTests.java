@@ -1,13 +1,59 @@
 package org.mosdev.template.backend;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class BackendApplicationTests {
 
+    // Set by the fast-startup build profile, which compares the startup modes; one line per context load
+    private static final String STARTUP_REPORT_PROPERTY = "startup.report";
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private Environment environment;
+
     @Test
-    void contextLoads() {
+    void contextLoads() throws IOException {
+        assertThat(context.getStartupDate()).isPositive();
+
+        String report = System.getProperty(STARTUP_REPORT_PROPERTY);
+        if (report != null) {
+            appendStartupTime(Path.of(report));
+        }
+    }
+
+    private void appendStartupTime(Path report) throws IOException {
+        long contextMillis = System.currentTimeMillis() - context.getStartupDate();
+        long jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        String line = String.join(",",
+                Instant.now().toString(),
+                Boolean.toString(AotDetector.useGeneratedArtifacts()),
+                environment.getProperty("app.startup.lazy-docs", "false"),
+                Boolean.toString(environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)),
+                Long.toString(contextMillis),
+                Long.toString(jvmUptimeMillis)) + System.lineSeparator();
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        if (Files.notExists(report)) {
+            Files.writeString(report, "timestamp,aot,lazyDocs,virtualThreads,contextMillis,jvmUptimeMillis" + System.lineSeparator());
+        }
+        Files.writeString(report, line, StandardOpenOption.APPEND);
     }
 
 }
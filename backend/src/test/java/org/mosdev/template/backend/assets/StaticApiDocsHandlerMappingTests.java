@@ -0,0 +1,66 @@
+package org.mosdev.template.backend.assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mosdev.template.backend.security.SecurityMode;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticApiDocsHandlerMappingTests {
+
+    private static final String DOCS_PATH = "/api/api-docs";
+
+    @TempDir
+    Path staticDir;
+
+    @Test
+    void servesTheBuiltDocument() throws Exception {
+        Files.writeString(staticDir.resolve("openapi.json"), "{\"openapi\":\"3.0.1\"}");
+        StaticApiDocsHandlerMapping mapping = mapping(SecurityMode.SESSION);
+
+        MockHttpServletRequest request = request("GET", DOCS_PATH);
+        HandlerExecutionChain chain = mapping.getHandler(request);
+
+        assertThat(chain).isNotNull();
+        StaticAsset asset = (StaticAsset) request.getAttribute(StaticAssetRequestHandler.ASSET_ATTRIBUTE);
+        assertThat(asset.path()).isEqualTo("openapi.json");
+        assertThat(mapping.getHandler(request("POST", DOCS_PATH))).isNull();
+        assertThat(mapping.getHandler(request("GET", "/api/items"))).isNull();
+    }
+
+    @Test
+    void servesTheDocumentOfTheSecurityMode() throws Exception {
+        Files.writeString(staticDir.resolve("openapi.json"), "{\"openapi\":\"3.0.1\"}");
+        Files.writeString(staticDir.resolve("openapi-stateless.json"), "{\"openapi\":\"3.0.1\"}");
+
+        MockHttpServletRequest request = request("GET", DOCS_PATH);
+        assertThat(mapping(SecurityMode.STATELESS).getHandler(request)).isNotNull();
+        StaticAsset asset = (StaticAsset) request.getAttribute(StaticAssetRequestHandler.ASSET_ATTRIBUTE);
+        assertThat(asset.path()).isEqualTo("openapi-stateless.json");
+    }
+
+    @Test
+    void leavesTheDocumentToSpringdocWhenItWasNotBuilt() throws Exception {
+        Files.writeString(staticDir.resolve("openapi.json"), "{\"openapi\":\"3.0.1\"}");
+        StaticApiDocsHandlerMapping mapping = mapping(SecurityMode.STATELESS);
+
+        assertThat(mapping.getHandler(request("GET", DOCS_PATH))).isNull();
+        assertThat(mapping.getHandler(request("GET", DOCS_PATH + ".yaml"))).isNull();
+    }
+
+    private StaticApiDocsHandlerMapping mapping(SecurityMode securityMode) throws Exception {
+        return new StaticApiDocsHandlerMapping(new StaticAssetIndex(staticDir.toUri().toString()), DOCS_PATH, securityMode);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package org.mosdev.template.backend.assets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticAssetRequestHandlerTests {
+
+    @TempDir
+    Path staticDir;
+
+    private StaticAssetIndex index;
+
+    private final StaticAssetRequestHandler handler = new StaticAssetRequestHandler();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(staticDir.resolve("app.js"), "identity");
+        Files.writeString(staticDir.resolve("app.js.br"), "brotli");
+        Files.writeString(staticDir.resolve("app.js.gz"), "gzip");
+        Files.writeString(staticDir.resolve("plain.txt"), "plain");
+        index = new StaticAssetIndex(staticDir.toUri().toString());
+    }
+
+    @Test
+    void prefersBrotliOverGzip() throws Exception {
+        MockHttpServletResponse response = handle("GET", "app.js", "gzip, deflate, br");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getContentAsString()).isEqualTo("brotli");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void fallsBackToGzipAndIdentity() throws Exception {
+        MockHttpServletResponse gzip = handle("GET", "app.js", "gzip");
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getContentAsString()).isEqualTo("gzip");
+
+        for (String acceptEncoding : new String[]{null, "identity", "deflate"}) {
+            MockHttpServletResponse identity = handle("GET", "app.js", acceptEncoding);
+            assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(identity.getContentAsString()).isEqualTo("identity");
+            assertThat(identity.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    @Test
+    void skipsCodingsRefusedWithZeroQuality() throws Exception {
+        assertThat(handle("GET", "app.js", "br;q=0, gzip").getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(handle("GET", "app.js", "BR;Q=0.0, gzip;q=0").getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(handle("GET", "app.js", "gzip;q=0.5, br;q=1.0").getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+
+        assertThat(StaticAssetRequestHandler.accepts("gzip, br", "br")).isTrue();
+        assertThat(StaticAssetRequestHandler.accepts("gzip;level=1", "gzip")).isTrue();
+        assertThat(StaticAssetRequestHandler.accepts("gzip;q=x", "gzip")).isFalse();
+        assertThat(StaticAssetRequestHandler.accepts("brotli", "br")).isFalse();
+    }
+
+    @Test
+    void answersConditionalRequestsPerVariant() throws Exception {
+        String etag = handle("GET", "app.js", "br").getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidation = request("GET", "app.js", "br");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse notModified = handle(revalidation);
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        MockHttpServletRequest otherVariant = request("GET", "app.js", "gzip");
+        otherVariant.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse modified = handle(otherVariant);
+        assertThat(modified.getStatus()).isEqualTo(200);
+        assertThat(modified.getContentAsString()).isEqualTo("gzip");
+    }
+
+    @Test
+    void writesHeadersOnlyForHeadRequests() throws Exception {
+        MockHttpServletResponse response = handle("HEAD", "app.js", "br");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getContentLengthLong()).isEqualTo("brotli".length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void handsFilesToSendfileWhenTheConnectorSupportsIt() throws Exception {
+        MockHttpServletRequest request = request("GET", "app.js", "gzip");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = handle(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(staticDir.resolve("app.js.gz").toFile().getAbsolutePath());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) "gzip".length());
+    }
+
+    @Test
+    void doesNotVaryAssetsWithoutPrecompressedVariants() throws Exception {
+        MockHttpServletResponse response = handle("GET", "plain.txt", "gzip, br");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("plain");
+    }
+
+    private MockHttpServletResponse handle(String method, String path, String acceptEncoding) throws Exception {
+        return handle(request(method, path, acceptEncoding));
+    }
+
+    private MockHttpServletResponse handle(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String path, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/" + path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        request.setAttribute(StaticAssetRequestHandler.ASSET_ATTRIBUTE, index.get(path));
+        return request;
+    }
+}
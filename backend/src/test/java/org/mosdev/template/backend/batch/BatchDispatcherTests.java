@@ -0,0 +1,165 @@
+package org.mosdev.template.backend.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.exception.ErrorEnvelopes;
+import org.mosdev.template.backend.ratelimit.RateLimitFilter;
+import org.mosdev.template.backend.ratelimit.RateLimitProperties;
+import org.mosdev.template.backend.ratelimit.StripedRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Path validation, dispatch on the pool, rate limiting and interruption of sub-requests that exceed the timeout
+ */
+class BatchDispatcherTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private BatchDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void validatesNormalizedPaths() {
+        dispatcher = dispatcher((request, response, chain) -> {
+        }, null, Duration.ofSeconds(1));
+
+        assertThat(dispatcher.validate(get("/api/test/data?page=1"))).isNull();
+        assertThat(dispatcher.validate(get("/%61pi/test/data"))).isNull();
+        assertThat(dispatcher.validate(get("/api/batch"))).isEqualTo("Batch requests cannot be nested");
+        assertThat(dispatcher.validate(get("/api/%62atch"))).isEqualTo("Batch requests cannot be nested");
+        assertThat(dispatcher.validate(get("/api//batch"))).isEqualTo("Batch requests cannot be nested");
+        assertThat(dispatcher.validate(get("/api/batch;x=1"))).isEqualTo("Batch requests cannot be nested");
+        assertThat(dispatcher.validate(get("/api/batch/?x=1"))).isEqualTo("Batch requests cannot be nested");
+        assertThat(dispatcher.validate(get("/api/x/../batch"))).isEqualTo("Sub-request paths must start with /api/");
+        assertThat(dispatcher.validate(get("/api/%zz"))).isEqualTo("Sub-request paths must start with /api/");
+        assertThat(dispatcher.validate(get("/actuator/health"))).isEqualTo("Sub-request paths must start with /api/");
+        assertThat(dispatcher.validate(new BatchOperation("a", "TRACE", "/api/test/data", null, null)))
+                .isEqualTo("Unsupported method: TRACE");
+    }
+
+    @Test
+    void rejectsAuthenticationEndpointsAndCredentialHeaders() {
+        dispatcher = dispatcher((request, response, chain) -> {
+        }, null, Duration.ofSeconds(1));
+
+        assertThat(dispatcher.validate(new BatchOperation("a", "POST", "/api/auth/token", null, null)))
+                .isEqualTo("Authentication endpoints cannot be called in a batch");
+        assertThat(dispatcher.validate(new BatchOperation("a", "POST", "/api/auth/%74oken", null, null)))
+                .isEqualTo("Authentication endpoints cannot be called in a batch");
+        assertThat(dispatcher.validate(new BatchOperation("a", "GET", "/api/items", Map.of("authorization", "Basic eDp5"), null)))
+                .isEqualTo("Sub-requests use the credentials of the batch request: authorization");
+        assertThat(dispatcher.validate(new BatchOperation("a", "GET", "/api/items", Map.of("Cookie", "SESSION=x"), null)))
+                .isEqualTo("Sub-requests use the credentials of the batch request: Cookie");
+        assertThat(dispatcher.validate(new BatchOperation("a", "GET", "/api/items", Map.of("If-None-Match", "\"1\""), null)))
+                .isNull();
+    }
+
+    @Test
+    void dispatchesWithTheCredentialsOfTheBatch() {
+        AtomicReference<String> authorization = new AtomicReference<>();
+        dispatcher = dispatcher((request, response, chain) -> {
+            authorization.set(((HttpServletRequest) request).getHeader(HttpHeaders.AUTHORIZATION));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"ok\":true}");
+        }, null, Duration.ofSeconds(5));
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/batch");
+        batch.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        List<BatchResult> results = dispatcher.dispatch(batch, List.of(get("/api/test/data")));
+
+        assertThat(results).containsExactly(new BatchResult("a", 200, "{\"ok\":true}"));
+        assertThat(authorization).hasValue("Bearer token");
+    }
+
+    @Test
+    void limitsEachSubRequestLikeADirectCall() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(2, 0.001));
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(properties, new StripedRateLimiter(1, 100),
+                new ErrorEnvelopes(new ApiResponseJsonWriter(objectMapper)), new SimpleMeterRegistry());
+        AtomicInteger served = new AtomicInteger();
+        // Stands in for the DispatcherServlet, which only sees the sub-requests within the limit
+        DispatcherServlet dispatcherServlet = new DispatcherServlet() {
+            @Override
+            public void service(ServletRequest request, ServletResponse response) {
+                served.incrementAndGet();
+            }
+        };
+        dispatcher = new BatchDispatcher(dispatcherServlet, (request, response, chain) -> chain.doFilter(request, response),
+                provider(rateLimitFilter), objectMapper, 20, 2, 4, Duration.ofSeconds(5));
+
+        List<BatchResult> results = dispatcher.dispatch(new MockHttpServletRequest("POST", "/api/batch"),
+                List.of(get("/api/test/data"), get("/api/test/data"), get("/api/test/data")));
+
+        assertThat(results).extracting(BatchResult::status).containsExactlyInAnyOrder(200, 200, 429);
+        assertThat(served).hasValue(2);
+    }
+
+    @Test
+    void interruptsTimedOutSubRequestsAndWaitsForThem() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        dispatcher = dispatcher((request, response, chain) -> {
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException ex) {
+                interrupted.set(true);
+            }
+            stopped.set(true);
+        }, null, Duration.ofMillis(100));
+
+        List<BatchResult> results = dispatcher.dispatch(new MockHttpServletRequest("POST", "/api/batch"),
+                List.of(get("/api/test/blocking")));
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.status()).isEqualTo(504);
+            assertThat(result.response()).contains("Sub-request timed out");
+        });
+        assertThat(interrupted).as("worker interrupted").isTrue();
+        assertThat(stopped).as("worker stopped before dispatch returned").isTrue();
+    }
+
+    private BatchDispatcher dispatcher(Filter securityFilterChain, RateLimitFilter rateLimitFilter, Duration timeout) {
+        return new BatchDispatcher(new DispatcherServlet(), securityFilterChain, provider(rateLimitFilter), objectMapper,
+                20, 2, 4, timeout);
+    }
+
+    private static ObjectProvider<RateLimitFilter> provider(RateLimitFilter rateLimitFilter) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (rateLimitFilter != null) {
+            beanFactory.addBean("rateLimitFilter", rateLimitFilter);
+        }
+        return beanFactory.getBeanProvider(RateLimitFilter.class);
+    }
+
+    private static BatchOperation get(String path) {
+        return new BatchOperation("a", "GET", path, null, null);
+    }
+}
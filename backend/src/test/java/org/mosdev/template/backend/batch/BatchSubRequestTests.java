@@ -0,0 +1,131 @@
+package org.mosdev.template.backend.batch;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sub-requests built from the operation and the snapshot of the batch request
+ */
+class BatchSubRequestTests {
+
+    @Test
+    void parsesPathQueryAndBody() throws Exception {
+        MockHttpServletRequest batch = batchRequest();
+        batch.setContextPath("/app");
+        byte[] body = "{\"name\":\"x\"}".getBytes(StandardCharsets.UTF_8);
+
+        BatchSubRequest request = new BatchSubRequest(BatchRequestSnapshot.of(batch), "POST",
+                "/api/items?page=2&tag=a&tag=b%20c", null, body);
+
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getContextPath()).isEqualTo("/app");
+        assertThat(request.getRequestURI()).isEqualTo("/app/api/items");
+        assertThat(request.getRequestURL()).hasToString("https://example.com/app/api/items");
+        assertThat(request.getQueryString()).isEqualTo("page=2&tag=a&tag=b%20c");
+        assertThat(request.getParameter("page")).isEqualTo("2");
+        assertThat(request.getParameterValues("tag")).containsExactly("a", "b c");
+        assertThat(request.getContentType()).isEqualTo("application/json");
+        assertThat(request.getContentLength()).isEqualTo(body.length);
+        assertThat(StreamUtils.copyToByteArray(request.getInputStream())).isEqualTo(body);
+    }
+
+    @Test
+    void inheritsCredentialsAndAddsOperationHeaders() {
+        MockHttpServletRequest batch = batchRequest();
+        batch.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        batch.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "de");
+        batch.addHeader("X-Not-Inherited", "1");
+        batch.setCookies(new Cookie("SESSION", "abc"));
+
+        BatchSubRequest request = new BatchSubRequest(BatchRequestSnapshot.of(batch), "GET", "/api/items",
+                Map.of("If-None-Match", "\"1\""), new byte[0]);
+
+        assertThat(request.getHeader("authorization")).isEqualTo("Bearer token");
+        assertThat(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE)).isEqualTo("de");
+        assertThat(request.getHeader(HttpHeaders.ACCEPT)).isEqualTo("application/json");
+        assertThat(request.getHeader(HttpHeaders.IF_NONE_MATCH)).isEqualTo("\"1\"");
+        assertThat(request.getHeader("X-Not-Inherited")).isNull();
+        assertThat(request.getContentType()).isNull();
+        assertThat(request.getCookies()).extracting(Cookie::getValue).containsExactly("abc");
+    }
+
+    @Test
+    void readsOnlyTheSnapshot() {
+        MockHttpServletRequest batch = batchRequest();
+        batch.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        batch.setCookies(new Cookie("SESSION", "abc"));
+        BatchRequestSnapshot snapshot = BatchRequestSnapshot.of(batch);
+
+        // The container recycles the batch request once it completes
+        batch.removeHeader(HttpHeaders.AUTHORIZATION);
+        batch.getCookies()[0].setValue("changed");
+        batch.setRemoteAddr("10.0.0.9");
+        batch.setSession(new MockHttpSession());
+        BatchSubRequest request = new BatchSubRequest(snapshot, "GET", "/api/items", null, new byte[0]);
+
+        assertThat(request.getHeader(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer token");
+        assertThat(request.getCookies()[0].getValue()).isEqualTo("abc");
+        assertThat(request.getRemoteAddr()).isEqualTo("192.0.2.1");
+        assertThat(request.getSession(false)).isNull();
+
+        // Cookies handed out are copies as well
+        request.getCookies()[0].setValue("changed");
+        assertThat(request.getCookies()[0].getValue()).isEqualTo("abc");
+    }
+
+    @Test
+    void keepsAttributesPrivate() {
+        MockHttpServletRequest batch = batchRequest();
+        batch.setAttribute("processed", Boolean.TRUE);
+
+        BatchSubRequest request = new BatchSubRequest(BatchRequestSnapshot.of(batch), "GET", "/api/items", null, new byte[0]);
+        request.setAttribute("own", "value");
+
+        assertThat(request.getAttribute("processed")).isNull();
+        assertThat(Collections.list(request.getAttributeNames())).containsExactly("own");
+        assertThat(batch.getAttribute("own")).isNull();
+        request.setAttribute("own", null);
+        assertThat(request.getAttribute("own")).isNull();
+    }
+
+    @Test
+    void sharesButNeverCreatesSessions() {
+        MockHttpServletRequest anonymous = batchRequest();
+        HttpServletRequest withoutSession = new BatchSubRequest(BatchRequestSnapshot.of(anonymous), "GET", "/api/items",
+                null, new byte[0]);
+        assertThat(withoutSession.getSession(false)).isNull();
+        assertThatThrownBy(withoutSession::getSession).isInstanceOf(IllegalStateException.class);
+        assertThat(anonymous.getSession(false)).isNull();
+
+        MockHttpServletRequest authenticated = batchRequest();
+        MockHttpSession session = new MockHttpSession();
+        authenticated.setSession(session);
+        HttpServletRequest withSession = new BatchSubRequest(BatchRequestSnapshot.of(authenticated), "GET", "/api/items",
+                null, new byte[0]);
+        assertThat(withSession.getSession()).isSameAs(session);
+        assertThatThrownBy(withSession::changeSessionId).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(withSession::startAsync).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static MockHttpServletRequest batchRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        request.setScheme("https");
+        request.setSecure(true);
+        request.setServerName("example.com");
+        request.setServerPort(443);
+        request.setRemoteAddr("192.0.2.1");
+        return request;
+    }
+}
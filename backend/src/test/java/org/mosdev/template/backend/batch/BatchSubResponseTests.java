@@ -0,0 +1,60 @@
+package org.mosdev.template.backend.batch;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buffering of the status, headers and body of a sub-request
+ */
+class BatchSubResponseTests {
+
+    @Test
+    void buffersStatusHeadersAndBody() throws Exception {
+        BatchSubResponse response = new BatchSubResponse();
+        response.setStatus(201);
+        response.setContentType("application/json");
+        response.addHeader(HttpHeaders.VARY, "Accept");
+        response.addHeader("vary", "Origin");
+        response.addCookie(new Cookie("id", "1"));
+        response.getWriter().write("{\"id\":1}");
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly("Accept", "Origin");
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isEqualTo("id=1");
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void recordsErrorsAndRedirects() {
+        BatchSubResponse error = new BatchSubResponse();
+        error.sendError(403, "Forbidden");
+        assertThat(error.getStatus()).isEqualTo(403);
+
+        BatchSubResponse redirect = new BatchSubResponse();
+        redirect.sendRedirect("/login");
+        assertThat(redirect.getStatus()).isEqualTo(302);
+        assertThat(redirect.getHeader(HttpHeaders.LOCATION)).isEqualTo("/login");
+        assertThat(redirect.encodeRedirectURL("/login")).isEqualTo("/login");
+    }
+
+    @Test
+    void resetClearsEverything() throws Exception {
+        BatchSubResponse response = new BatchSubResponse();
+        response.setStatus(500);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.getOutputStream().write(new byte[]{1, 2, 3});
+
+        response.reset();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.containsHeader(HttpHeaders.CACHE_CONTROL)).isFalse();
+        assertThat(response.getBody()).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package org.mosdev.template.backend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags, conditional requests and cache keys of {@link CachedResponse} endpoints, on /api/test/data
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.openapi.static=false"
+})
+@AutoConfigureMockMvc
+class ResponseCacheInterceptorTests {
+
+    private static final String CACHED = "/api/test/data";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache.clear();
+    }
+
+    @Test
+    void hitsReplayTheStoredBytes() throws Exception {
+        MockHttpServletResponse miss = fetch(MediaType.APPLICATION_JSON);
+        assertThat(miss.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(miss.getHeader(HttpHeaders.AGE)).isNull();
+
+        MockHttpServletResponse hit = fetch(MediaType.APPLICATION_JSON);
+        assertThat(hit.getHeader(HttpHeaders.AGE)).isNotNull();
+        assertThat(hit.getHeader(HttpHeaders.ETAG)).isEqualTo(miss.getHeader(HttpHeaders.ETAG));
+        assertThat(hit.getContentAsByteArray()).isEqualTo(miss.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModified() throws Exception {
+        String etag = fetch(MediaType.APPLICATION_JSON).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse notModified = mockMvc.perform(get(CACHED)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn().getResponse();
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        mockMvc.perform(get(CACHED)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void keepsOneEntryPerAcceptHeader() throws Exception {
+        MockHttpServletResponse json = fetch(MediaType.APPLICATION_JSON);
+        MockHttpServletResponse cbor = fetch(MediaType.APPLICATION_CBOR);
+        assertThat(cbor.getHeader(HttpHeaders.AGE)).isNull();
+        assertThat(cbor.getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getHeader(HttpHeaders.ETAG));
+
+        // Each format is now a hit with its own body, and the ETag of one format does not validate the other
+        assertThat(fetch(MediaType.APPLICATION_CBOR).getContentAsByteArray()).isEqualTo(cbor.getContentAsByteArray());
+        assertThat(fetch(MediaType.APPLICATION_JSON).getContentAsByteArray()).isEqualTo(json.getContentAsByteArray());
+        mockMvc.perform(get(CACHED)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void keysEntriesByQueryString() throws Exception {
+        fetch(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(get(CACHED).queryParam("page", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.AGE));
+    }
+
+    @Test
+    void leavesEndpointsWithoutTheAnnotationAlone() throws Exception {
+        mockMvc.perform(get("/api/test/success"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.AGE));
+    }
+
+    private MockHttpServletResponse fetch(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(CACHED).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse();
+    }
+}
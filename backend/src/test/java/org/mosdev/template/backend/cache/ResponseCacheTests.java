@@ -0,0 +1,54 @@
+package org.mosdev.template.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ResponseCache cache = new ResponseCache(DataSize.ofKilobytes(1), registry);
+
+    @Test
+    void etagIsAStrongHashOfTheBody() {
+        ResponseCacheEntry entry = entry("{\"data\":1}", 30);
+
+        assertThat(entry.etag()).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(entry.etag()).isEqualTo(entry("{\"data\":1}", 5).etag());
+        assertThat(entry.etag()).isNotEqualTo(entry("{\"data\":2}", 30).etag());
+        assertThat(entry.ttlNanos()).isEqualTo(30_000_000_000L);
+        assertThat(entry.ageSeconds()).isZero();
+    }
+
+    @Test
+    void storesEntriesPerKeyAndPublishesMetrics() {
+        ResponseCacheEntry json = entry("{\"data\":1}", 30);
+        cache.put("GET /api/test/data|application/json", json);
+
+        assertThat(cache.get("GET /api/test/data|application/json")).isSameAs(json);
+        assertThat(cache.get("GET /api/test/data|application/cbor")).isNull();
+        assertThat(registry.get("cache.gets").tag("cache", ResponseCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", ResponseCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+
+        cache.clear();
+        assertThat(cache.get("GET /api/test/data|application/json")).isNull();
+    }
+
+    @Test
+    void entriesExpireAfterTheirTimeToLive() {
+        cache.put("GET /expired|", entry("{}", 0));
+
+        assertThat(cache.get("GET /expired|")).isNull();
+    }
+
+    private static ResponseCacheEntry entry(String body, long ttlSeconds) {
+        return ResponseCacheEntry.of(body.getBytes(StandardCharsets.UTF_8), "application/json", ttlSeconds);
+    }
+}
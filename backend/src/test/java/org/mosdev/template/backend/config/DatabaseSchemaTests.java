@@ -0,0 +1,83 @@
+package org.mosdev.template.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The schema scripts of the prod profile, which does not let Hibernate create the tables ({@code ddl-auto=none})
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/items-schema.sql,classpath:db/jobs-schema.sql",
+        "app.openapi.static=false"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class DatabaseSchemaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void itemsAreStoredInTheScriptedTable() throws Exception {
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"First\", \"price\": 1.50}, {\"name\": \"Second\"}]"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/items/page").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].name").value("First"));
+
+        byte[] body = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Third\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        long id = objectMapper.readTree(body).get("data").get("id").asLong();
+        mockMvc.perform(delete("/api/items/{id}", id))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void jobsAreStoredInTheScriptedTable() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/jobs/sleep")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"millis\": 0}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsByteArray();
+        String id = objectMapper.readTree(body).get("metadata").get("jobId").asText();
+
+        MvcResult await = mockMvc.perform(get("/api/jobs/{id}/await", id).param("timeout", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(await))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.data.createdAt").isNotEmpty())
+                .andExpect(jsonPath("$.data.finishedAt").isNotEmpty());
+    }
+}
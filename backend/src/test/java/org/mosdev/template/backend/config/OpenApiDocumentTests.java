@@ -0,0 +1,110 @@
+package org.mosdev.template.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mosdev.template.backend.BackendApplication;
+import org.mosdev.template.backend.assets.StaticApiDocsHandlerMapping;
+import org.mosdev.template.backend.security.SecurityMode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Build-time OpenAPI documents: the build runs this class with {@code -Dopenapi.output-directory=<dir>} to write
+ * the documents generated by springdoc and their gzip variants into the static resources; without the property
+ * they are written to a temporary directory. The application is started with the prod profile, which serves
+ * them, once per security mode, as the endpoints differ (the token endpoint only exists in stateless mode).
+ * Runs against an in-memory H2 database with the schema scripts of the profile, the documents do not depend on the data.
+ */
+class OpenApiDocumentTests {
+
+    private static final String OUTPUT_PROPERTY = "openapi.output-directory";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(SecurityMode.class)
+    void writesTheDocumentOfEachSecurityMode(SecurityMode securityMode) throws Exception {
+        byte[] document;
+        try (ConfigurableApplicationContext context = start(securityMode)) {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+            document = mockMvc.perform(get(context.getEnvironment().getRequiredProperty("springdoc.api-docs.path")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+        }
+        String property = System.getProperty(OUTPUT_PROPERTY);
+        Path directory = property != null && !property.isBlank() ? Path.of(property) : tempDir;
+        Path output = directory.resolve(StaticApiDocsHandlerMapping.document(securityMode));
+        Path gzipOutput = Path.of(output + ".gz");
+
+        Files.createDirectories(directory);
+        Files.write(output, document);
+        // Compressed once at build time, so the highest level costs nothing at runtime
+        try (OutputStream out = new LeveledGzipOutputStream(Files.newOutputStream(gzipOutput), Deflater.BEST_COMPRESSION)) {
+            out.write(document);
+        }
+
+        JsonNode runtime = OBJECT_MAPPER.readTree(document);
+        assertThat(runtime.get("paths").has("/api/auth/token")).isEqualTo(securityMode == SecurityMode.STATELESS);
+        assertThat(runtime.get("paths").has("/api/items")).isTrue();
+        assertThat(read(output, false)).isEqualTo(runtime);
+        assertThat(read(gzipOutput, true)).isEqualTo(runtime);
+        assertThat(Files.size(gzipOutput)).isLessThan(document.length);
+    }
+
+    private static ConfigurableApplicationContext start(SecurityMode securityMode) {
+        // Command line arguments, so they take precedence over the profile's properties
+        return new SpringApplicationBuilder(BackendApplication.class).run(
+                "--spring.profiles.active=prod",
+                "--server.port=0",
+                "--app.security.mode=" + securityMode.name().toLowerCase(Locale.ROOT),
+                "--app.security.token.secret=" + Base64.getEncoder().encodeToString(new byte[32]),
+                "--app.openapi.static=false",
+                "--spring.datasource.url=jdbc:h2:mem:openapi-" + securityMode + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--logging.file.name=");
+    }
+
+    private static JsonNode read(Path path, boolean gzip) throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(path)) : Files.newInputStream(path)) {
+            return OBJECT_MAPPER.readTree(in);
+        }
+    }
+
+    /**
+     * Gzip stream with a configurable compression level
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
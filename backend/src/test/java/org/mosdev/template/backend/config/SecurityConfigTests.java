@@ -0,0 +1,113 @@
+package org.mosdev.template.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Authorization rules, also for percent-encoded paths that Spring MVC decodes before routing
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.openapi.static=false"
+})
+@AutoConfigureMockMvc
+class SecurityConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void publishingEventsRequiresAdmin() throws Exception {
+        mockMvc.perform(post("/api/events/news")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(post(URI.create("/%61pi/events/news.x"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void jobsRequireAuthentication() throws Exception {
+        mockMvc.perform(post("/api/jobs/sleep")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"millis\": 0}"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(get("/api/jobs/00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void itemWritesRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Item\"}"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON).content("[{\"name\": \"Item\"}]"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(delete(URI.create("/%61pi/items/1")))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void encodedDocsPathRequiresDeveloper() throws Exception {
+        mockMvc.perform(get(URI.create("/%73wagger-ui/index.html")))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void onlyHealthIsPublicAmongActuatorEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(get(URI.create("/%61ctuator/metrics")))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void administratorsReadMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bundledAssetsArePublic() throws Exception {
+        // Not bundled in the test build: reaches the resource handling instead of the login redirect
+        mockMvc.perform(get("/assets/missing-3f9a1c2b.js"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,68 @@
+package org.mosdev.template.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation between JSON, CBOR and Smile for the same ApiResponse envelope
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.openapi.static=false"
+})
+@AutoConfigureMockMvc
+class WebConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void answersEveryFormatWithTheSameEnvelope() throws Exception {
+        JsonNode json = read(new ObjectMapper(), MediaType.APPLICATION_JSON);
+        JsonNode cbor = read(new CBORMapper(), MediaType.APPLICATION_CBOR);
+        JsonNode smile = read(new SmileMapper(), WebConfig.SMILE);
+
+        assertThat(json.get("data").get("name").asText()).isEqualTo("Test User");
+        for (JsonNode binary : new JsonNode[]{cbor, smile}) {
+            assertThat(binary.get("success").asBoolean()).isTrue();
+            assertThat(binary.get("code").asInt()).isEqualTo(200);
+            assertThat(binary.get("data")).isEqualTo(json.get("data"));
+            assertThat(binary.get("message")).isEqualTo(json.get("message"));
+        }
+    }
+
+    @Test
+    void prefersJsonWithoutAnAcceptHeader() throws Exception {
+        mockMvc.perform(get("/api/test/success"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    // /api/test/data is a cached response, so the formats also check that cache entries are kept per Accept header
+    private JsonNode read(ObjectMapper mapper, MediaType mediaType) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/test/data").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readTree(body);
+    }
+}
@@ -0,0 +1,69 @@
+package org.mosdev.template.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batches dispatched through the security filter chain and the regular controllers.
+ * Runs on a server: sub-requests go through the application's DispatcherServlet, which MockMvc does not initialize.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.openapi.static=false"
+})
+class BatchControllerTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void returnsSubRequestResultsInOrder() {
+        ResponseEntity<JsonNode> response = batch("""
+                {"requests": [
+                  {"id": "a", "method": "GET", "path": "/api/test/data"},
+                  {"id": "b", "method": "GET", "path": "/api/test/success"}
+                ]}""");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        JsonNode results = response.getBody().get("data");
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("id").asText()).isEqualTo("a");
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(0).get("response").get("success").asBoolean()).isTrue();
+        assertThat(results.get(1).get("id").asText()).isEqualTo("b");
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectsEncodedNestedBatches() {
+        ResponseEntity<JsonNode> response = batch("""
+                {"requests": [{"method": "POST", "path": "/api/%62atch"}]}""");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getBody().get("message").asText()).isEqualTo("Batch requests cannot be nested");
+    }
+
+    private ResponseEntity<JsonNode> batch(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return restTemplate.postForEntity("/api/batch", new HttpEntity<>(body, headers), JsonNode.class);
+    }
+}
@@ -0,0 +1,188 @@
+package org.mosdev.template.backend.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mosdev.template.backend.BackendApplication;
+import org.mosdev.template.backend.metrics.VirtualThreadPinningMonitor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Load test of the blocking /api/test/blocking endpoint on the embedded Tomcat, started once with
+ * {@code spring.threads.virtual.enabled=false} (a bounded platform thread pool) and once with true.
+ * The throughput and p99 latency of both modes are compared by BlockingEndpointBenchmark (benchmark profile).
+ */
+class BlockingEndpointLoadTests {
+
+    private static final int PLATFORM_THREADS = 20;
+
+    private static final int REQUESTS = 100;
+
+    private static final long BLOCKING_MILLIS = 500;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void requestThreadsFollowTheVirtualThreadToggle(boolean virtualThreads) throws Exception {
+        RequestThreads requestThreads = new RequestThreads();
+        try (ConfigurableApplicationContext context = start(virtualThreads, requestThreads)) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            int completed = sendConcurrently(URI.create("http://localhost:" + port
+                    + "/api/test/blocking?millis=" + BLOCKING_MILLIS));
+            Executor executor = tomcatExecutor(context);
+
+            assertThat(completed).isEqualTo(REQUESTS);
+            assertThat(requestThreads.requests.get()).isEqualTo(REQUESTS);
+            if (virtualThreads) {
+                assertThat(executor).isInstanceOf(VirtualThreadExecutor.class);
+                assertThat(requestThreads.virtual.get()).isEqualTo(REQUESTS);
+                // Blocked virtual threads are not bounded by max-threads
+                assertThat(requestThreads.maxInFlight.get()).isGreaterThan(PLATFORM_THREADS);
+            } else {
+                assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+                assertThat(((ThreadPoolExecutor) executor).getLargestPoolSize()).isLessThanOrEqualTo(PLATFORM_THREADS);
+                assertThat(requestThreads.virtual.get()).isZero();
+                assertThat(requestThreads.maxInFlight.get()).isLessThanOrEqualTo(PLATFORM_THREADS);
+            }
+        }
+    }
+
+    @Test
+    void pinnedBlockingIsReportedAsMetric() throws Exception {
+        // Since JDK 24 synchronized blocks no longer pin virtual threads
+        assumeTrue(Runtime.version().feature() < 24);
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TestController()).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(10));
+        monitor.start();
+        try {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    futures.add(executor.submit(() -> mockMvc.perform(get("/api/test/blocking")
+                                    .param("millis", "20")
+                                    .param("pinned", "true"))
+                            .andExpect(status().isOk())));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pinnedCount(registry) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(pinnedCount(registry)).isPositive();
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, RequestThreads requestThreads) {
+        // Command line arguments, so they take precedence over the profile's properties
+        return new SpringApplicationBuilder(BackendApplication.class)
+                // Registered as a bean instance: a @Configuration class here would be found by the component scan
+                .initializers(context -> context.getBeanFactory().registerSingleton("requestThreads", requestThreads.filter()))
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--server.tomcat.threads.min-spare=1",
+                        "--app.rate-limit.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:blocking-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--app.openapi.static=false");
+    }
+
+    private static int sendConcurrently(URI uri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(executor.submit(() ->
+                        client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            int completed = 0;
+            for (Future<Integer> response : responses) {
+                if (response.get() == 200) {
+                    completed++;
+                }
+            }
+            return completed;
+        }
+    }
+
+    private static Executor tomcatExecutor(ConfigurableApplicationContext context) {
+        TomcatWebServer webServer = (TomcatWebServer) ((ServletWebServerApplicationContext) context).getWebServer();
+        return webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+    }
+
+    private static long pinnedCount(SimpleMeterRegistry registry) {
+        return registry.get(VirtualThreadPinningMonitor.METER_NAME).timer().count();
+    }
+
+    // Records which kind of thread serves each request and how many run at the same time
+    private static final class RequestThreads {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private final AtomicInteger virtual = new AtomicInteger();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        FilterRegistrationBean<Filter> filter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                requests.incrementAndGet();
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.mosdev.template.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestControllerTests {
+
+    private final TestController controller = new TestController();
+
+    @Test
+    void capsTheRowsOfTheLargeResponse() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test/large");
+
+        assertThat(controller.getLargeResponse(request, 10).getBody().getSource().get().count()).isEqualTo(10);
+        assertThat(controller.getLargeResponse(request, -1).getBody().getSource().get().count()).isZero();
+        assertThat(controller.getLargeResponse(request, Long.MAX_VALUE).getBody().getSource().get().count())
+                .isEqualTo(TestController.MAX_ROWS);
+    }
+
+    @Test
+    void capsTheRecordsOfTheNdjsonStream() {
+        assertThat(controller.getNdjsonStream(10, 0).getBody().getSource().get().count()).isEqualTo(10);
+        assertThat(controller.getNdjsonStream(-1, 0).getBody().getSource().get().count()).isZero();
+        assertThat(controller.getNdjsonStream(Long.MAX_VALUE, 0).getBody().getSource().get().count())
+                .isEqualTo(TestController.MAX_ROWS);
+    }
+}
@@ -0,0 +1,72 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+class ApiResponseHttpMessageConverterTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiResponseHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new ApiResponseHttpMessageConverter(new ApiResponseJsonWriter(objectMapper));
+    }
+
+    @Test
+    void writesSameBytesAsObjectMapperForStringData() throws Exception {
+        assertSameAsObjectMapper(ResponseWrapper.ok("This is a successful response", "GET", "Operation completed successfully").getBody());
+    }
+
+    @Test
+    void writesSameBytesAsObjectMapperForMapDataAndMetadata() throws Exception {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Test User");
+        data.put("roles", List.of("USER", "ADMIN"));
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("version", "1.0.0");
+        metadata.put("timestamp", 1700000000000L);
+
+        assertSameAsObjectMapper(ResponseWrapper.okWithMetadata(data, "GET", "Data retrieved successfully", metadata).getBody());
+    }
+
+    @Test
+    void writesSameBytesAsObjectMapperForErrorWithoutData() throws Exception {
+        assertSameAsObjectMapper(ApiResponse.error(HttpStatus.NOT_FOUND, "DELETE", "Resource not found"));
+    }
+
+    @Test
+    void writesSameBytesAsObjectMapperForNullFields() throws Exception {
+        assertSameAsObjectMapper(new ApiResponse<>());
+    }
+
+    @Test
+    void doesNotReadApiResponses() {
+        assertThat(converter.canRead(ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    private void assertSameAsObjectMapper(ApiResponse<?> response) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+
+        assertThat(outputMessage.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+}
@@ -0,0 +1,113 @@
+package org.mosdev.template.backend.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.model.StreamingApiResponse;
+import org.mosdev.template.backend.util.ResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JsonTest
+class StreamingApiResponseHttpMessageConverterTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private StreamingApiResponseHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        TransactionOperations readOnlyTransaction = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return TransactionOperations.withoutTransaction().execute(action);
+            }
+        };
+        converter = new StreamingApiResponseHttpMessageConverter(new ApiResponseJsonWriter(objectMapper), readOnlyTransaction);
+    }
+
+    @Test
+    void writesTheEnvelopeOfAnApiResponse() throws Exception {
+        StreamingApiResponse<String> response = ResponseWrapper.stream(Stream.of("a", "b", "c"), "GET", "Rows streamed").getBody();
+
+        JsonNode json = write(response);
+
+        JsonNode header = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                ResponseWrapper.ok(null, "GET", "Rows streamed").getBody()));
+        for (String field : List.of("code", "method", "success", "message")) {
+            assertThat(json.get(field)).as(field).isEqualTo(header.get(field));
+        }
+        assertThat(json.get("timestamp").isTextual()).isTrue();
+        assertThat(json.get("data")).isEqualTo(objectMapper.valueToTree(List.of("a", "b", "c")));
+        assertThat(json.get("metadata").get("count").asLong()).isEqualTo(3);
+        assertThat(json.get("metadata").has("elapsedMillis")).isTrue();
+        assertThat(transactions).hasValue(0);
+    }
+
+    @Test
+    void writesAnEmptySource() throws Exception {
+        JsonNode json = write(ResponseWrapper.stream(Stream.empty(), "GET", "Rows streamed").getBody());
+
+        assertThat(json.get("data").isArray()).isTrue();
+        assertThat(json.get("data")).isEmpty();
+        assertThat(json.get("metadata").get("count").asLong()).isZero();
+    }
+
+    @Test
+    void closesTheSourceAndCallsAfterWriteInsideTheTransaction() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        List<Integer> written = new ArrayList<>();
+        StreamingApiResponse<Integer> response = ResponseWrapper.streamQuery(
+                () -> Stream.of(1, 2).onClose(() -> closed.set(true)), written::add, "GET", "Rows streamed").getBody();
+
+        JsonNode json = write(response);
+
+        assertThat(json.get("metadata").get("count").asLong()).isEqualTo(2);
+        assertThat(written).containsExactly(1, 2);
+        assertThat(closed).isTrue();
+        assertThat(transactions).hasValue(1);
+    }
+
+    @Test
+    void closesTheSourceWhenAnElementFails() {
+        AtomicBoolean closed = new AtomicBoolean();
+        StreamingApiResponse<Integer> response = ResponseWrapper.stream(
+                Stream.of(1, 2).<Integer>map(i -> {
+                    throw new IllegalStateException("Row " + i);
+                }).onClose(() -> closed.set(true)), "GET", "Rows streamed").getBody();
+
+        assertThatThrownBy(() -> write(response)).isInstanceOf(IllegalStateException.class);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void onlyWritesStreamingResponses() {
+        assertThat(converter.canRead(StreamingApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(StreamingApiResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private JsonNode write(StreamingApiResponse<?> response) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+        return objectMapper.readTree(outputMessage.getBodyAsBytes());
+    }
+}
@@ -0,0 +1,241 @@
+package org.mosdev.template.backend.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.entity.Job;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.exception.ResourceNotFoundException;
+import org.mosdev.template.backend.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Throughput and recovery of the job queue against an in-memory H2 database.
+ * Workers commit their own transactions, so the tests run without a test transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobServiceThroughputTests {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void thousandsOfJobsCompleteThroughBoundedQueue() throws Exception {
+        int jobs = 5000;
+        AtomicInteger executions = new AtomicInteger();
+        // The queue holds a fraction of the jobs, the rest is read back from the table as it drains
+        JobService jobService = jobService(new CountingHandler(executions, 0), 16, 256, false);
+        jobService.start();
+        try {
+            try (ExecutorService submitters = Executors.newFixedThreadPool(8)) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < jobs; i++) {
+                    futures.add(submitters.submit(() -> jobService.submit("count", null, "user")));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            awaitAllFinished(Duration.ofSeconds(60));
+
+            assertThat(jobRepository.countByStatusIn(EnumSet.of(JobStatus.SUCCEEDED))).isEqualTo(jobs);
+            // Each job is claimed once, even when its id was queued more than once
+            assertThat(executions.get()).isEqualTo(jobs);
+        } finally {
+            jobService.stop();
+        }
+    }
+
+    @Test
+    void blockingJobsRunOnAllWorkersAtOnce() throws Exception {
+        int workers = 8;
+        // Each job waits until a job on every worker has started, so it only succeeds if they run concurrently
+        CountDownLatch started = new CountDownLatch(workers);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        JobHandler handler = new JobHandler() {
+
+            @Override
+            public String type() {
+                return "count";
+            }
+
+            @Override
+            public Object execute(JsonNode payload) throws InterruptedException {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    started.countDown();
+                    if (!started.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Workers did not run concurrently");
+                    }
+                    Thread.sleep(5);
+                    return null;
+                } finally {
+                    active.decrementAndGet();
+                }
+            }
+        };
+        JobService jobService = jobService(handler, workers, 1000, true);
+        jobService.start();
+        try {
+            for (int i = 0; i < workers * 10; i++) {
+                jobService.submit("count", null, "user");
+            }
+            awaitAllFinished(Duration.ofSeconds(60));
+
+            assertThat(jobRepository.countByStatusIn(EnumSet.of(JobStatus.SUCCEEDED))).isEqualTo(workers * 10L);
+            assertThat(maxActive).hasValue(workers);
+        } finally {
+            jobService.stop();
+        }
+    }
+
+    @Test
+    void errorsFailTheJobAndReleaseItsPendingSlot() throws Exception {
+        JobHandler handler = new JobHandler() {
+
+            @Override
+            public String type() {
+                return "count";
+            }
+
+            @Override
+            public Object execute(JsonNode payload) {
+                throw new AssertionError("Broken handler");
+            }
+        };
+        JobService jobService = new JobService(jobRepository, List.of(handler), OBJECT_MAPPER, new SimpleMeterRegistry(),
+                1, 16, 1, 3, Duration.ofDays(1), Duration.ofSeconds(1), false);
+        jobService.start();
+        try {
+            Job job = jobService.submit("count", null, "user");
+            awaitAllFinished(Duration.ofSeconds(10));
+
+            Job failed = jobRepository.findById(job.getId()).orElseThrow();
+            assertThat(failed.getStatus()).isEqualTo(JobStatus.FAILED);
+            assertThat(failed.getError()).isEqualTo("Broken handler");
+            // Only one job may be pending, so this is refused if the failed job kept its slot
+            jobService.submit("count", null, "user");
+        } finally {
+            jobService.stop();
+        }
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwnerAndAdmins() {
+        JobService jobService = jobService(new CountingHandler(new AtomicInteger(), 0), 1, 16, false);
+        // Not started: submitted jobs stay queued
+        Job owned = jobService.submit("count", null, "user");
+        Job internal = jobService.submit("count", null, null);
+
+        assertThat(jobService.find(owned.getId(), "user", false).getId()).isEqualTo(owned.getId());
+        assertThat(jobService.find(owned.getId(), "admin", true).getId()).isEqualTo(owned.getId());
+        assertThat(jobService.find(internal.getId(), "admin", true).getId()).isEqualTo(internal.getId());
+        assertThatThrownBy(() -> jobService.find(owned.getId(), "other", false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> jobService.find(owned.getId(), null, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> jobService.find(internal.getId(), null, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void interruptedJobsAreQueuedAgainOnStart() throws Exception {
+        Job interrupted = runningJob(1);
+        Job exhausted = runningJob(3);
+
+        JobService jobService = jobService(new CountingHandler(new AtomicInteger(), 0), 2, 16, false);
+        jobService.start();
+        try {
+            awaitAllFinished(Duration.ofSeconds(10));
+            Job retried = jobRepository.findById(interrupted.getId()).orElseThrow();
+            assertThat(retried.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+            assertThat(retried.getAttempts()).isEqualTo(2);
+            assertThat(jobRepository.findById(exhausted.getId()).orElseThrow().getStatus()).isEqualTo(JobStatus.FAILED);
+        } finally {
+            jobService.stop();
+        }
+    }
+
+    @Test
+    void submissionsBeyondMaxPendingAreRefused() {
+        JobService jobService = new JobService(jobRepository, List.of(new CountingHandler(new AtomicInteger(), 0)),
+                OBJECT_MAPPER, new SimpleMeterRegistry(), 1, 16, 3, 3, Duration.ofDays(1), Duration.ofSeconds(1), false);
+        // Not started: submitted jobs stay queued
+        for (int i = 0; i < 3; i++) {
+            jobService.submit("count", null, null);
+        }
+        assertThatThrownBy(() -> jobService.submit("count", null, null))
+                .isInstanceOfSatisfying(ApplicationException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.SERVICE_UNAVAILABLE));
+        assertThat(jobRepository.count()).isEqualTo(3);
+    }
+
+    private JobService jobService(JobHandler handler, int workers, int queueCapacity, boolean virtualThreads) {
+        return new JobService(jobRepository, List.of(handler), OBJECT_MAPPER, new SimpleMeterRegistry(),
+                workers, queueCapacity, 100_000, 3, Duration.ofDays(1), Duration.ofSeconds(5), virtualThreads);
+    }
+
+    private Job runningJob(int attempts) {
+        Job job = new Job("count", null, null);
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(attempts);
+        return jobRepository.save(job);
+    }
+
+    private void awaitAllFinished(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (jobRepository.countByStatusIn(EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING)) > 0) {
+            assertThat(System.nanoTime()).as("jobs finished within %s", timeout).isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private record CountingHandler(AtomicInteger executions, long sleepMillis) implements JobHandler {
+
+        @Override
+        public String type() {
+            return "count";
+        }
+
+        @Override
+        public Object execute(JsonNode payload) throws InterruptedException {
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+            }
+            return executions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.mosdev.template.backend.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorsTests {
+
+    private static final Sort SORT = Sort.by("name", "id");
+
+    @Test
+    void decodesTheKeysItEncoded() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Item, \"quoted\" & ünïcode");
+        keys.put("id", 42L);
+        keys.put("rank", 7);
+        keys.put("price", new BigDecimal("19.990"));
+        keys.put("updatedAt", LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_000_000));
+        keys.put("day", LocalDate.of(2024, 1, 1));
+        keys.put("createdAt", Instant.parse("2024-05-01T10:15:30.5Z"));
+        keys.put("uuid", UUID.fromString("1b4e28ba-2fa1-11d2-883f-0016d3cca427"));
+
+        String cursor = Cursors.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition position = Cursors.decode(cursor);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+        assertThat(position.getKeys()).hasSameSizeAs(keys).containsAllEntriesOf(keys);
+    }
+
+    @Test
+    void theFirstPageHasNoCursor() {
+        assertThat(Cursors.encode(ScrollPosition.keyset())).isNull();
+        assertThat(Cursors.encode(ScrollPosition.offset(10))).isNull();
+        assertThat(Cursors.decode(null).isInitial()).isTrue();
+        assertThat(Cursors.decode(" ").isInitial()).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String cursor = Cursors.encode(ScrollPosition.forward(Map.of("name", "Item", "id", 42L)));
+
+        assertInvalid(cursor.substring(0, cursor.length() / 2));
+        assertInvalid(cursor + "*");
+        assertInvalid("not a cursor");
+        assertInvalid(encoded("[\"S\",\"Item\"]"));
+        assertInvalid(encoded("{\"id\":[\"X\",\"42\"]}"));
+        assertInvalid(encoded("{\"id\":[\"L\",\"42 OR 1=1\"]}"));
+        assertInvalid(encoded("{\"id\":[\"L\"]}"));
+        assertInvalid(encoded("{\"id\":[\"L\",\"42\",\"43\"]}"));
+        assertInvalid(encoded("{\"id\":null}"));
+        assertInvalid(encoded("{\"day\":[\"D\",\"2024-02-30\"]}"));
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherSortOrder() {
+        String cursor = Cursors.encode(ScrollPosition.forward(Map.of("id", 42L)));
+
+        assertThatThrownBy(() -> KeysetPageRequest.of(cursor, 20, SORT))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining("sort order");
+        assertThat(KeysetPageRequest.of(cursor, 20, Sort.by("id")).position().getKeys()).containsEntry("id", 42L);
+    }
+
+    @Test
+    void clampsThePageSize() {
+        assertThat(KeysetPageRequest.of(null, 0, SORT).limit().max()).isEqualTo(1);
+        assertThat(KeysetPageRequest.of(null, 10_000, SORT).limit().max()).isEqualTo(KeysetPageRequest.MAX_SIZE);
+        assertThat(KeysetPageRequest.of(null, 20, SORT).isFirstPage()).isTrue();
+    }
+
+    @Test
+    void refusesToEncodeKeysItCannotDecode() {
+        assertThatThrownBy(() -> Cursors.encode(ScrollPosition.forward(Map.of("active", true))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("active");
+    }
+
+    private static String encoded(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> Cursors.decode(cursor))
+                .isInstanceOf(InvalidCursorException.class)
+                .extracting(ex -> ((InvalidCursorException) ex).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,135 @@
+package org.mosdev.template.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Generic cell rate algorithm on explicit clock values, so no test depends on timing
+ */
+class StripedRateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // Burst of 3, one token per second
+    private static final RateLimit LIMIT = RateLimit.of(new RateLimitProperties.Limit(3, 1));
+
+    @Test
+    void convertsConfiguredLimits() {
+        assertThat(LIMIT).isEqualTo(new RateLimit(SECOND, 2 * SECOND, 3));
+        assertThat(RateLimit.of(new RateLimitProperties.Limit(5, 0.2))).isEqualTo(new RateLimit(5 * SECOND, 20 * SECOND, 5));
+        assertThatThrownBy(() -> RateLimit.of(new RateLimitProperties.Limit(0, 1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.of(new RateLimitProperties.Limit(1, 0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void allowsBurstThenReportsWaitUntilRefill() {
+        StripedRateLimiter limiter = new StripedRateLimiter(4, 100);
+        long now = 1_000 * SECOND;
+
+        assertThat(limiter.tryAcquire("client", LIMIT, now)).isZero();
+        assertThat(limiter.tryAcquire("client", LIMIT, now)).isZero();
+        assertThat(limiter.tryAcquire("client", LIMIT, now)).isZero();
+        assertThat(limiter.tryAcquire("client", LIMIT, now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("client", LIMIT, now + SECOND / 4)).isEqualTo(3 * SECOND / 4);
+
+        // A rejected request takes no token: one is back after the emission interval
+        assertThat(limiter.tryAcquire("client", LIMIT, now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("client", LIMIT, now + SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsAtMostToCapacity() {
+        StripedRateLimiter limiter = new StripedRateLimiter(4, 100);
+        long now = 1_000 * SECOND;
+        assertThat(limiter.tryAcquire("client", LIMIT, now)).isZero();
+
+        // Idle for much longer than the bucket takes to fill
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client", LIMIT, later)).isZero();
+        }
+        assertThat(limiter.tryAcquire("client", LIMIT, later)).isPositive();
+    }
+
+    @Test
+    void keepsClientsApart() {
+        StripedRateLimiter limiter = new StripedRateLimiter(4, 100);
+        long now = 1_000 * SECOND;
+        RateLimit single = RateLimit.of(new RateLimitProperties.Limit(1, 1));
+
+        assertThat(limiter.tryAcquire("a", single, now)).isZero();
+        assertThat(limiter.tryAcquire("a", single, now)).isPositive();
+        assertThat(limiter.tryAcquire("b", single, now)).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, 100);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", LIMIT, now);
+        limiter.tryAcquire("busy", LIMIT, now + 10 * SECOND);
+        limiter.tryAcquire("busy", LIMIT, now + 10 * SECOND);
+
+        limiter.evictIdle(now + 10 * SECOND);
+
+        assertThat(limiter.size()).isEqualTo(1);
+        // The remaining bucket kept its state
+        assertThat(limiter.tryAcquire("busy", LIMIT, now + 10 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire("busy", LIMIT, now + 10 * SECOND)).isPositive();
+    }
+
+    @Test
+    void evictsIdleBucketsBeforeAStripeGrowsPastItsLimit() {
+        // Two stripes of at most one bucket: "a" and "c" share a stripe, "b" has the other one
+        StripedRateLimiter limiter = new StripedRateLimiter(2, 1);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("a", LIMIT, now);
+        limiter.tryAcquire("b", LIMIT, now);
+
+        limiter.tryAcquire("c", LIMIT, now + 10 * SECOND);
+
+        // "a" had refilled and made room for "c"; the other stripe was not cleaned
+        assertThat(limiter.size()).isEqualTo(2);
+        limiter.evictIdle(now + 10 * SECOND);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void grantsExactlyTheBurstToConcurrentCallers() throws Exception {
+        StripedRateLimiter limiter = new StripedRateLimiter(4, 100);
+        RateLimit limit = RateLimit.of(new RateLimitProperties.Limit(100, 0.001));
+        long now = 1_000 * SECOND;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 1_000; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (limiter.tryAcquire("shared", limit, now) == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,100 @@
+package org.mosdev.template.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Caching of verified credentials behind a {@link ProviderManager}, which erases the credentials it returns
+ */
+class CachingAuthenticationProviderTests {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    // Stands in for the BCrypt check of the DAO provider
+    private final AuthenticationProvider delegate = new AuthenticationProvider() {
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            verifications.incrementAndGet();
+            if (!"secret".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            UserDetails user = User.withUsername(authentication.getName()).password("{bcrypt}hash").roles("USER").build();
+            return UsernamePasswordAuthenticationToken.authenticated(user, authentication.getCredentials(), user.getAuthorities());
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+    };
+
+    private final CachingAuthenticationProvider provider =
+            new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+
+    private final ProviderManager providerManager = new ProviderManager(provider);
+
+    @Test
+    void verifiesRepeatedCredentialsOnce() {
+        Authentication first = providerManager.authenticate(login("user", "secret"));
+        Authentication second = providerManager.authenticate(login("user", "secret"));
+
+        assertThat(verifications).hasValue(1);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("user");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void hitsAreNotSharedBetweenCallers() {
+        providerManager.authenticate(login("user", "secret"));
+        UsernamePasswordAuthenticationToken hit = (UsernamePasswordAuthenticationToken) providerManager.authenticate(login("user", "secret"));
+        // A caller changing what it received
+        hit.setDetails("changed");
+        hit.setAuthenticated(false);
+
+        Authentication next = providerManager.authenticate(login("user", "secret"));
+
+        assertThat(verifications).hasValue(1);
+        assertThat(next.isAuthenticated()).isTrue();
+        assertThat(next.getDetails()).isNull();
+        assertThat(next.getPrincipal()).isNotSameAs(hit.getPrincipal());
+        assertThat(next.getCredentials()).isNull();
+    }
+
+    @Test
+    void neverCachesFailures() {
+        assertThatThrownBy(() -> providerManager.authenticate(login("user", "wrong"))).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> providerManager.authenticate(login("user", "wrong"))).isInstanceOf(BadCredentialsException.class);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void keysEntriesByUsernameAndPassword() {
+        providerManager.authenticate(login("user", "secret"));
+        providerManager.authenticate(login("other", "secret"));
+        assertThat(verifications).hasValue(2);
+
+        provider.clear();
+        providerManager.authenticate(login("user", "secret"));
+        assertThat(verifications).hasValue(3);
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
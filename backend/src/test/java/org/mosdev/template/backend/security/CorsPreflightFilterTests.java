@@ -0,0 +1,97 @@
+package org.mosdev.template.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Preflight answers of the fast path and pass-through of all other requests
+ */
+class CorsPreflightFilterTests {
+
+    private static final String ORIGIN = "http://localhost:5173";
+
+    private final CorsPreflightFilter filter = new CorsPreflightFilter(configuration());
+
+    @Test
+    void answersAllowedPreflight() throws Exception {
+        MockHttpServletRequest request = preflight(ORIGIN, "POST", "Content-Type, Authorization");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).as("chain not invoked").isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo(ORIGIN);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS)).contains("POST");
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS)).isEqualTo("authorization, content-type");
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS)).isEqualTo("true");
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE)).isEqualTo("1800");
+        assertThat(response.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ORIGIN);
+    }
+
+    @Test
+    void rejectsUnknownOriginMethodOrHeader() throws Exception {
+        assertThat(reject(preflight("https://evil.example", "POST", null))).isEqualTo(403);
+        assertThat(reject(preflight(ORIGIN, "TRACE", null))).isEqualTo(403);
+        assertThat(reject(preflight(ORIGIN, "POST", "x-custom"))).isEqualTo(403);
+    }
+
+    @Test
+    void passesOtherRequestsOnAndClassifiesThem() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/%61pi/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isNull();
+        assertThat(request.getAttribute(RouteClass.ATTRIBUTE)).isEqualTo(RouteClass.API);
+    }
+
+    @Test
+    void refusesOriginPatterns() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(List.of("https://*.example.com"));
+        assertThatThrownBy(() -> new CorsPreflightFilter(configuration)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int reject(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isNull();
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest preflight(String origin, String method, String headers) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/items");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method);
+        if (headers != null) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, headers);
+        }
+        return request;
+    }
+
+    private static CorsConfiguration configuration() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:3000", ORIGIN));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("authorization", "content-type"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(1800L);
+        return configuration;
+    }
+}
@@ -0,0 +1,58 @@
+package org.mosdev.template.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Route classification of plain, encoded and parameterized paths
+ */
+class RouteClassTests {
+
+    @Test
+    void classifiesPlainPaths() {
+        assertThat(RouteClass.classify("/api")).isEqualTo(RouteClass.API);
+        assertThat(RouteClass.classify("/api/items")).isEqualTo(RouteClass.API);
+        assertThat(RouteClass.classify("/apidocs")).isEqualTo(RouteClass.OTHER);
+        assertThat(RouteClass.classify("/swagger-ui/index.html")).isEqualTo(RouteClass.DOCS);
+        assertThat(RouteClass.classify("/v3/api-docs")).isEqualTo(RouteClass.DOCS);
+        assertThat(RouteClass.classify("/actuator/health")).isEqualTo(RouteClass.ACTUATOR);
+        assertThat(RouteClass.classify("/assets/index-3f9a1c2b.js")).isEqualTo(RouteClass.STATIC);
+        assertThat(RouteClass.classify("/favicon.ico")).isEqualTo(RouteClass.STATIC);
+        assertThat(RouteClass.classify("/items/42")).isEqualTo(RouteClass.OTHER);
+    }
+
+    @Test
+    void classifiesTheDecodedPath() {
+        assertThat(RouteClass.of(request("/%61pi/events/news.x"))).isEqualTo(RouteClass.API);
+        assertThat(RouteClass.of(request("/%73wagger-ui/index.html"))).isEqualTo(RouteClass.DOCS);
+        assertThat(RouteClass.of(request("/%61ctuator/prometheus"))).isEqualTo(RouteClass.ACTUATOR);
+    }
+
+    @Test
+    void ignoresPathParametersAndDuplicateSlashes() {
+        assertThat(RouteClass.of(request("/api;x=y/items"))).isEqualTo(RouteClass.API);
+        assertThat(RouteClass.of(request("//api/items"))).isEqualTo(RouteClass.API);
+    }
+
+    @Test
+    void classifiesThePathWithinTheContext() {
+        MockHttpServletRequest request = request("/app/api/items");
+        request.setContextPath("/app");
+        assertThat(RouteClass.of(request)).isEqualTo(RouteClass.API);
+    }
+
+    @Test
+    void cachesTheClassOfTheRequest() {
+        MockHttpServletRequest request = request("/api/items");
+        assertThat(RouteClass.of(request)).isEqualTo(RouteClass.API);
+        assertThat(request.getAttribute(RouteClass.ATTRIBUTE)).isEqualTo(RouteClass.API);
+        assertThat(RouteClass.API.matcher().matches(request)).isTrue();
+        assertThat(RouteClass.STATIC.matcher().matches(request)).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,97 @@
+package org.mosdev.template.backend.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Issuing and verifying bearer tokens, and the signing key requirements of the security modes
+ */
+class TokenServiceTests {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private static final Authentication ADMIN = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+    @Test
+    void issuedTokensVerifyWithTheirRoles() {
+        TokenService tokenService = new TokenService(SecurityMode.STATELESS, SECRET, Duration.ofMinutes(15));
+
+        Jwt token = tokenService.issue(ADMIN);
+        Jwt verified = tokenService.decoder().decode(token.getTokenValue());
+
+        assertThat(verified.getSubject()).isEqualTo("admin");
+        assertThat(verified.getClaimAsStringList(TokenService.ROLES_CLAIM)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(verified.getExpiresAt()).isEqualTo(verified.getIssuedAt().plus(Duration.ofMinutes(15)));
+        assertThat(TokenService.authenticationConverter().convert(verified).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void nodesSharingTheSecretVerifyEachOthersTokens() {
+        TokenService issuer = new TokenService(SecurityMode.STATELESS, SECRET, Duration.ofMinutes(15));
+        TokenService verifier = new TokenService(SecurityMode.STATELESS, SECRET, Duration.ofMinutes(15));
+
+        assertThat(verifier.decoder().decode(issuer.issue(ADMIN).getTokenValue()).getSubject()).isEqualTo("admin");
+    }
+
+    @Test
+    void rejectsForeignTamperedAndExpiredTokens() {
+        TokenService tokenService = new TokenService(SecurityMode.STATELESS, SECRET, Duration.ofMinutes(15));
+        String otherSecret = Base64.getEncoder().encodeToString("another key of at least 32 bytes".getBytes());
+        TokenService foreign = new TokenService(SecurityMode.STATELESS, otherSecret, Duration.ofMinutes(15));
+
+        assertThatThrownBy(() -> tokenService.decoder().decode(foreign.issue(ADMIN).getTokenValue()))
+                .isInstanceOf(JwtException.class);
+        String token = tokenService.issue(ADMIN).getTokenValue();
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"roles\":[\"ROLE_ADMIN\"]}".getBytes()) + "." + parts[2];
+        assertThatThrownBy(() -> tokenService.decoder().decode(forged)).isInstanceOf(JwtException.class);
+        // Signed with the right key, expired beyond the decoder's clock skew
+        Instant issuedAt = Instant.now().minus(Duration.ofHours(1));
+        String expired = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256")))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), JwtClaimsSet.builder()
+                        .subject("admin")
+                        .issuedAt(issuedAt)
+                        .expiresAt(issuedAt.plus(Duration.ofMinutes(15)))
+                        .build()))
+                .getTokenValue();
+        assertThatThrownBy(() -> tokenService.decoder().decode(expired))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void statelessModeRequiresASecret() {
+        assertThatThrownBy(() -> new TokenService(SecurityMode.STATELESS, " ", Duration.ofMinutes(15)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.security.token.secret");
+        assertThatThrownBy(() -> new TokenService(SecurityMode.STATELESS,
+                Base64.getEncoder().encodeToString(new byte[16]), Duration.ofMinutes(15)))
+                .isInstanceOf(IllegalStateException.class);
+
+        TokenService session = new TokenService(SecurityMode.SESSION, "", Duration.ofMinutes(15));
+        assertThat(session.decoder().decode(session.issue(ADMIN).getTokenValue()).getSubject()).isEqualTo("admin");
+    }
+}
@@ -0,0 +1,167 @@
+package org.mosdev.template.backend.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Session store against an embedded H2 database standing in for MariaDB
+ */
+class CachingJdbcSessionRepositoryTests {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CachingJdbcSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        repository = repository();
+        repository.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void savedSessionIsReadByAnotherInstance() {
+        StoredSession session = repository.createSession();
+        session.setAttribute("user", "alice");
+        repository.save(session);
+
+        StoredSession found = repository().findById(session.getId());
+        assertThat(found).isNotNull();
+        assertThat((String) found.getAttribute("user")).isEqualTo("alice");
+        assertThat(found.getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void accessOnlySavesAreWrittenInBatches() {
+        StoredSession session = repository.createSession();
+        repository.save(session);
+        long stored = storedLastAccess(session.getId());
+
+        for (int i = 1; i <= 100; i++) {
+            StoredSession request = repository.findById(session.getId());
+            request.setLastAccessedTime(Instant.ofEpochMilli(stored + i * 1000L));
+            repository.save(request);
+        }
+        assertThat(storedLastAccess(session.getId())).isEqualTo(stored);
+        // The pending access time is visible on this instance before the flush
+        assertThat(repository.findById(session.getId()).getLastAccessedTime().toEpochMilli()).isEqualTo(stored + 100_000);
+
+        assertThat(repository.flushAccessTimes()).isEqualTo(1);
+        assertThat(storedLastAccess(session.getId())).isEqualTo(stored + 100_000);
+        assertThat(jdbcTemplate.queryForObject("select expiry_time from app_session where id = ?", Long.class,
+                session.getId())).isEqualTo(stored + 100_000 + Duration.ofMinutes(30).toMillis());
+        assertThat(repository.flushAccessTimes()).isZero();
+    }
+
+    @Test
+    void stickyNearCacheServesHotSessions() {
+        CachingJdbcSessionRepository sticky = repository(true);
+        StoredSession session = sticky.createSession();
+        sticky.save(session);
+        jdbcTemplate.update("delete from app_session");
+
+        assertThat(sticky.findById(session.getId())).isNotNull();
+        assertThat(repository().findById(session.getId())).isNull();
+    }
+
+    @Test
+    void nearCacheHitsSeeChangesOfOtherInstances() {
+        StoredSession session = repository.createSession();
+        session.setAttribute("user", "alice");
+        repository.save(session);
+        assertThat((String) repository.findById(session.getId()).getAttribute("user")).isEqualTo("alice");
+
+        CachingJdbcSessionRepository other = repository();
+        StoredSession changed = other.findById(session.getId());
+        changed.setAttribute("user", "bob");
+        other.save(changed);
+        assertThat((String) repository.findById(session.getId()).getAttribute("user")).isEqualTo("bob");
+
+        // Logout on the other instance
+        other.deleteById(session.getId());
+        assertThat(repository.findById(session.getId())).isNull();
+    }
+
+    @Test
+    void rotatedSessionIdIsNotServedFromOtherNearCaches() {
+        StoredSession session = repository.createSession();
+        session.setAttribute("user", "alice");
+        repository.save(session);
+        String originalId = session.getId();
+        assertThat(repository.findById(originalId)).isNotNull();
+
+        CachingJdbcSessionRepository other = repository();
+        StoredSession request = other.findById(originalId);
+        String newId = request.changeSessionId();
+        other.save(request);
+
+        assertThat(repository.findById(originalId)).isNull();
+        assertThat((String) repository.findById(newId).getAttribute("user")).isEqualTo("alice");
+    }
+
+    @Test
+    void expiredSessionsAreCleanedUp() {
+        StoredSession expired = repository.createSession();
+        expired.setMaxInactiveInterval(Duration.ofSeconds(1));
+        expired.setLastAccessedTime(Instant.now().minus(Duration.ofMinutes(1)));
+        repository.save(expired);
+        StoredSession active = repository.createSession();
+        repository.save(active);
+
+        assertThat(repository.findById(expired.getId())).isNull();
+        assertThat(repository.cleanupExpired()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from app_session", Integer.class)).isEqualTo(1);
+        assertThat(repository.findById(active.getId())).isNotNull();
+    }
+
+    @Test
+    void changedSessionIdMovesTheSession() {
+        StoredSession session = repository.createSession();
+        session.setAttribute("user", "alice");
+        repository.save(session);
+        String originalId = session.getId();
+
+        StoredSession request = repository.findById(originalId);
+        String newId = request.changeSessionId();
+        repository.save(request);
+
+        assertThat(repository.findById(originalId)).isNull();
+        StoredSession found = repository().findById(newId);
+        assertThat((String) found.getAttribute("user")).isEqualTo("alice");
+    }
+
+    private CachingJdbcSessionRepository repository() {
+        return repository(false);
+    }
+
+    private CachingJdbcSessionRepository repository(boolean sticky) {
+        return new CachingJdbcSessionRepository(jdbcTemplate, new SimpleMeterRegistry(), Duration.ofMinutes(30),
+                1000, Duration.ofMinutes(1), Duration.ofSeconds(10), true, sticky);
+    }
+
+    private long storedLastAccess(String id) {
+        return jdbcTemplate.queryForObject("select last_access_time from app_session where id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,284 @@
+package org.mosdev.template.backend.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.converter.ApiResponseJsonWriter;
+import org.mosdev.template.backend.exception.ApplicationException;
+import org.mosdev.template.backend.exception.ErrorCode;
+import org.mosdev.template.backend.model.ApiResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fan-out, eviction and replay of the event stream hub, with mock async requests instead of sockets
+ */
+class SseHubTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SseHub hub;
+
+    @AfterEach
+    void tearDown() {
+        if (hub != null) {
+            hub.destroy();
+        }
+    }
+
+    @Test
+    void tenThousandSubscribersReceiveEveryEvent() throws Exception {
+        int subscribers = 10_000;
+        int events = 10;
+        hub = hub(1024, 64);
+        List<MockHttpServletResponse> responses = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            responses.add(subscribe(null, null));
+        }
+        assertThat(hub.getSubscriberCount()).isEqualTo(subscribers);
+
+        for (int i = 1; i <= events; i++) {
+            hub.publish("test", event(i));
+        }
+        String lastFrame = "id: " + hub.eventId(events) + "\nevent: test\n";
+        await(Duration.ofSeconds(60), () -> responses.stream().allMatch(response -> content(response).contains(lastFrame)));
+
+        for (MockHttpServletResponse response : responses) {
+            String content = content(response);
+            assertThat(content).startsWith("retry: ");
+            for (int i = 1; i <= events; i++) {
+                assertThat(content).contains("id: " + hub.eventId(i) + "\nevent: test\ndata: {");
+            }
+        }
+        assertThat(hub.getSubscriberCount()).isEqualTo(subscribers);
+    }
+
+    @Test
+    void stalledConsumersAreEvictedWithoutHoldingWriterThreads() throws Exception {
+        hub = hub(1024, 8);
+        // More stalled clients than writer threads
+        int stalled = 32;
+        List<MockHttpServletRequest> stalledRequests = new ArrayList<>(stalled);
+        for (int i = 0; i < stalled; i++) {
+            MockHttpServletRequest request = request();
+            hub.subscribe(request, new NonBlockingResponse(1), null, null);
+            stalledRequests.add(request);
+        }
+        MockHttpServletResponse fast = subscribe(null, null);
+
+        // Paced by the fast client, which keeps up; the stalled ones overflow their queues of eight frames
+        for (int i = 1; i <= 20; i++) {
+            hub.publish("test", event(i));
+            String frame = "id: " + hub.eventId(i) + "\n";
+            await(Duration.ofSeconds(10), () -> content(fast).contains(frame));
+        }
+
+        assertThat(hub.getSubscriberCount()).isEqualTo(1);
+        assertThat(stalledRequests).noneMatch(MockHttpServletRequest::isAsyncStarted);
+        assertThat(meterRegistry.get("sse.subscribers.evicted").counter().count()).isEqualTo(stalled);
+    }
+
+    @Test
+    void limitsTheStreamsOfEachClient() throws Exception {
+        hub = hub(1024, 64, 2);
+        MockHttpServletRequest first = request();
+        hub.subscribe(first, new NonBlockingResponse(), null, null);
+        subscribe(null, null);
+
+        assertThatThrownBy(() -> subscribe(null, null))
+                .isInstanceOfSatisfying(ApplicationException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.TOO_MANY_REQUESTS));
+
+        MockHttpServletRequest other = request();
+        other.setRemoteAddr("192.0.2.1");
+        hub.subscribe(other, new NonBlockingResponse(), null, null);
+
+        // A closed stream frees its slot
+        first.getAsyncContext().complete();
+        subscribe(null, null);
+        assertThat(hub.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reconnectReplaysMissedEvents() throws Exception {
+        hub = hub(3, 64);
+        for (int i = 1; i <= 5; i++) {
+            hub.publish("test", event(i));
+        }
+
+        MockHttpServletResponse recent = subscribe(hub.eventId(3), null);
+        await(Duration.ofSeconds(10), () -> content(recent).contains(frame(5)));
+        assertThat(content(recent)).contains(frame(4)).doesNotContain(frame(3)).doesNotContain("event: reset");
+
+        // Event 2 is no longer in the buffer of three events
+        MockHttpServletResponse stale = subscribe(hub.eventId(1), null);
+        await(Duration.ofSeconds(10), () -> content(stale).contains(frame(5)));
+        assertThat(content(stale)).contains("event: " + SseHub.RESET_EVENT, frame(3), frame(4)).doesNotContain(frame(2));
+
+        MockHttpServletResponse upToDate = subscribe(hub.eventId(5), null);
+        hub.heartbeat();
+        await(Duration.ofSeconds(10), () -> content(upToDate).endsWith(":\n\n"));
+        assertThat(content(upToDate)).doesNotContain("event: reset").doesNotContain("id: ");
+    }
+
+    @Test
+    void reconnectFromAnotherInstanceIsReset() throws Exception {
+        hub = hub(1024, 64);
+        SseHub previous = hub(1024, 64);
+        try {
+            // The previous instance got further than this one, which has just started
+            for (int i = 1; i <= 5; i++) {
+                previous.publish("test", event(i));
+            }
+            hub.publish("test", event(1));
+
+            for (String lastEventId : List.of(previous.eventId(5), previous.eventId(1), hub.eventId(2), "5", "unknown")) {
+                MockHttpServletResponse response = subscribe(lastEventId, null);
+                await(Duration.ofSeconds(10), () -> content(response).contains("event: " + SseHub.RESET_EVENT));
+                assertThat(content(response)).as(lastEventId).doesNotContain("id: ");
+            }
+        } finally {
+            previous.destroy();
+        }
+    }
+
+    @Test
+    void subscribersOnlyReceiveTheirTopicsAndHeartbeats() throws Exception {
+        hub = hub(1024, 64);
+        MockHttpServletResponse response = subscribe(null, Set.of("jobs"));
+
+        hub.publish("test", event(1));
+        hub.publish("jobs", event(2));
+        hub.heartbeat();
+        await(Duration.ofSeconds(10), () -> content(response).endsWith(":\n\n"));
+
+        assertThat(content(response)).contains("id: " + hub.eventId(2) + "\nevent: jobs\n").doesNotContain("event: test");
+    }
+
+    private SseHub hub(int replaySize, int queueCapacity) {
+        return hub(replaySize, queueCapacity, 20_000);
+    }
+
+    private SseHub hub(int replaySize, int queueCapacity, int maxSubscribersPerClient) {
+        return new SseHub(new ApiResponseJsonWriter(new ObjectMapper()), meterRegistry, replaySize, queueCapacity,
+                20_000, maxSubscribersPerClient, 16, Duration.ofSeconds(3), false);
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId, Set<String> topics) throws IOException {
+        MockHttpServletResponse response = new NonBlockingResponse();
+        hub.subscribe(request(), response, lastEventId, topics);
+        return response;
+    }
+
+    private String frame(int sequence) {
+        return "id: " + hub.eventId(sequence) + "\n";
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static ApiResponse<Map<String, Object>> event(int sequence) {
+        return ApiResponse.success(Map.of("sequence", sequence), "POST", "Event published");
+    }
+
+    private static String content(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(Duration timeout, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within %s", timeout).isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    /**
+     * Response with a non-blocking output stream, like the container's in async mode
+     */
+    private static final class NonBlockingResponse extends MockHttpServletResponse {
+
+        private final int writesBeforeStall;
+
+        private ServletOutputStream outputStream;
+
+        NonBlockingResponse() {
+            this(Integer.MAX_VALUE);
+        }
+
+        /**
+         * @param writesBeforeStall Writes accepted before the client stops reading; the stream then stays not ready
+         */
+        NonBlockingResponse(int writesBeforeStall) {
+            this.writesBeforeStall = writesBeforeStall;
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                ServletOutputStream content = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+
+                    private final AtomicInteger writes = new AtomicInteger();
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        if (!isReady()) {
+                            throw new IOException("Written while not ready");
+                        }
+                        writes.incrementAndGet();
+                        content.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        content.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return writes.get() < writesBeforeStall;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        try {
+                            writeListener.onWritePossible();
+                        } catch (IOException e) {
+                            writeListener.onError(e);
+                        }
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
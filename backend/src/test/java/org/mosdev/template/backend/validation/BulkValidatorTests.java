@@ -0,0 +1,88 @@
+package org.mosdev.template.backend.validation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mosdev.template.backend.entity.Item;
+import org.mosdev.template.backend.exception.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkValidatorTests {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    // Chunks of ten items on two threads with a queue of two, so most chunks overflow to the caller
+    private final BulkValidator bulkValidator = new BulkValidator(validatorFactory.getValidator(), 5, 10, 1000, 2, 2);
+
+    @AfterEach
+    void tearDown() {
+        bulkValidator.destroy();
+        validatorFactory.close();
+    }
+
+    @Test
+    void acceptsValidItems() {
+        BulkValidationResult result = bulkValidator.validate("items", items(1000));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.truncated()).isFalse();
+    }
+
+    @Test
+    void reportsErrorsOfAllChunksInItemOrder() {
+        List<Item> items = items(100);
+        items.set(95, new Item(" ", null, BigDecimal.ONE));
+        items.set(3, null);
+        items.set(42, new Item("Item", null, new BigDecimal("-1")));
+
+        BulkValidationResult result = bulkValidator.validate("items", items);
+
+        assertThat(result.errorCount()).isEqualTo(3);
+        assertThat(result.truncated()).isFalse();
+        assertThat(new ArrayList<>(result.errors().keySet()))
+                .containsExactly("items[3]", "items[42].price", "items[95].name");
+    }
+
+    @Test
+    void stopsAtTheErrorCap() {
+        List<Item> items = new ArrayList<>(Collections.nCopies(1000, (Item) null));
+
+        BulkValidationResult result = bulkValidator.validate("items", items);
+
+        assertThat(result.errorCount()).isEqualTo(5);
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.errors()).hasSize(5);
+    }
+
+    @Test
+    void rejectsPayloadsAboveTheItemLimit() {
+        assertThatThrownBy(() -> bulkValidator.validate("items", items(1001)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("1000");
+    }
+
+    @Test
+    void validatesOnTheCallerAfterShutdown() {
+        bulkValidator.destroy();
+        List<Item> items = items(100);
+        items.set(99, null);
+
+        assertThat(bulkValidator.validate("items", items).errors()).containsOnlyKeys("items[99]");
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("Item " + i, "Description " + i, BigDecimal.valueOf(i)));
+        }
+        return items;
+    }
+}
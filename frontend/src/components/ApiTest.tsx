@@ -1,6 +1,7 @@
 import React, { useState } from 'react';
 import { ApiResponse } from '../models/ApiResponse';
-import { apiFetch, getResponseData, getErrorMessage, getMetadata, isSuccessResponse } from '../utils/apiUtils';
+import { useEventStream } from '../hooks/useEventStream';
+import { apiFetch, batchedApiFetch, getResponseData, getErrorMessage, getMetadata, isSuccessResponse, JobView, readNdjson, runJob, withDebugMetrics } from '../utils/apiUtils';
 import './ApiTest.css';
 
 interface TestData {
@@ -9,6 +10,15 @@ interface TestData {
   roles: string[];
 }
 
+interface StreamRow {
+  id: number;
+  name: string;
+  email: string;
+}
+
+// Number of streamed rows rendered in the list
+const STREAM_PREVIEW_ROWS = 20;
+
 /**
  * Component to test the ApiResponse implementation
  */
@@ -17,13 +27,19 @@ const ApiTest: React.FC = () => {
   const [dataResponse, setDataResponse] = useState<ApiResponse<TestData> | null>(null);
   const [metadataResponse, setMetadataResponse] = useState<ApiResponse<string> | null>(null);
   const [errorResponse, setErrorResponse] = useState<ApiResponse<string> | null>(null);
+  const [streamRows, setStreamRows] = useState<StreamRow[]>([]);
+  const [streamCount, setStreamCount] = useState<number>(0);
+  const [jobResponse, setJobResponse] = useState<ApiResponse<JobView> | null>(null);
+  const [lastEvent, setLastEvent] = useState<ApiResponse<unknown> | null>(null);
+  const { connected } = useEventStream<unknown>(['test'], (_topic, event) => setLastEvent(event));
   const [loading, setLoading] = useState<boolean>(false);
+  const [debugMetrics, setDebugMetrics] = useState<boolean>(false);
 
   // Function to fetch success response
   const fetchSuccessResponse = async () => {
     setLoading(true);
     try {
-      const response = await apiFetch<string>('/api/test/success');
+      const response = await apiFetch<string>('/api/test/success', withDebugMetrics(debugMetrics));
       setSuccessResponse(response);
     } catch (error) {
       console.error('Error fetching success response:', error);
@@ -36,7 +52,7 @@ const ApiTest: React.FC = () => {
   const fetchDataResponse = async () => {
     setLoading(true);
     try {
-      const response = await apiFetch<TestData>('/api/test/data');
+      const response = await apiFetch<TestData>('/api/test/data', withDebugMetrics(debugMetrics));
       setDataResponse(response);
     } catch (error) {
       console.error('Error fetching data response:', error);
@@ -49,7 +65,7 @@ const ApiTest: React.FC = () => {
   const fetchMetadataResponse = async () => {
     setLoading(true);
     try {
-      const response = await apiFetch<string>('/api/test/metadata');
+      const response = await apiFetch<string>('/api/test/metadata', withDebugMetrics(debugMetrics));
       setMetadataResponse(response);
     } catch (error) {
       console.error('Error fetching metadata response:', error);
@@ -62,7 +78,7 @@ const ApiTest: React.FC = () => {
   const fetchErrorResponse = async () => {
     setLoading(true);
     try {
-      const response = await apiFetch<string>('/api/test/error');
+      const response = await apiFetch<string>('/api/test/error', withDebugMetrics(debugMetrics));
       setErrorResponse(response);
     } catch (error) {
       console.error('Error fetching error response:', error);
@@ -71,10 +87,86 @@ const ApiTest: React.FC = () => {
     }
   };
 
+  // Function to fetch the success, data and metadata responses in one batched round trip
+  const fetchAllBatched = async () => {
+    setLoading(true);
+    try {
+      const options = withDebugMetrics(debugMetrics);
+      const [success, data, metadata] = await Promise.all([
+        batchedApiFetch<string>('/api/test/success', options),
+        batchedApiFetch<TestData>('/api/test/data', options),
+        batchedApiFetch<string>('/api/test/metadata', options)
+      ]);
+      setSuccessResponse(success);
+      setDataResponse(data);
+      setMetadataResponse(metadata);
+    } catch (error) {
+      console.error('Error fetching batched responses:', error);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  // Function to run a background job and wait for its outcome
+  const runSleepJob = async () => {
+    setLoading(true);
+    setJobResponse(null);
+    try {
+      const response = await runJob('sleep', { millis: 2000 });
+      setJobResponse(response);
+    } catch (error) {
+      console.error('Error running job:', error);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  // Function to read the NDJSON export, rendering rows while they arrive
+  const fetchStream = async () => {
+    setLoading(true);
+    setStreamRows([]);
+    setStreamCount(0);
+    const preview: StreamRow[] = [];
+    let received = 0;
+    try {
+      await readNdjson<StreamRow>('/api/test/stream?count=5000', (row) => {
+        received++;
+        if (preview.length < STREAM_PREVIEW_ROWS) {
+          preview.push(row);
+          setStreamRows([...preview]);
+        }
+        if (received % 100 === 0) {
+          setStreamCount(received);
+        }
+      });
+      setStreamCount(received);
+    } catch (error) {
+      console.error('Error reading stream:', error);
+    } finally {
+      setLoading(false);
+    }
+  };
+
   return (
     <div className="api-test">
       <h1>API Response Test</h1>
 
+      <label className="debug-toggle">
+        <input
+          type="checkbox"
+          checked={debugMetrics}
+          onChange={(event) => setDebugMetrics(event.target.checked)}
+        />
+        Debug metrics (adds serverTimeMicros and allocatedBytes to the response metadata)
+      </label>
+
+      <div className="test-section">
+        <h2>Batched Requests</h2>
+        <button onClick={fetchAllBatched} disabled={loading}>
+          Fetch Success, Data and Metadata in One Round Trip
+        </button>
+      </div>
+
       <div className="test-section">
         <h2>Success Response</h2>
         <button onClick={fetchSuccessResponse} disabled={loading}>
@@ -143,6 +235,47 @@ const ApiTest: React.FC = () => {
         )}
       </div>
 
+      <div className="test-section">
+        <h2>Background Job</h2>
+        <button onClick={runSleepJob} disabled={loading}>
+          Run 2 Second Job
+        </button>
+        {jobResponse && (
+          <div className="response-display">
+            <h3>Response:</h3>
+            <pre>{JSON.stringify(jobResponse, null, 2)}</pre>
+          </div>
+        )}
+      </div>
+
+      <div className="test-section">
+        <h2>Live Events</h2>
+        <p>Event stream {connected ? 'connected' : 'disconnected'}. Events are published with POST /api/events/test (ADMIN).</p>
+        {lastEvent && (
+          <div className="response-display">
+            <h3>Last Event:</h3>
+            <pre>{JSON.stringify(lastEvent, null, 2)}</pre>
+          </div>
+        )}
+      </div>
+
+      <div className="test-section">
+        <h2>Streaming Export (NDJSON)</h2>
+        <button onClick={fetchStream} disabled={loading}>
+          Fetch Stream
+        </button>
+        {(streamCount > 0 || streamRows.length > 0) && (
+          <div className="response-display">
+            <h3>Rows received: {streamCount}</h3>
+            <ul>
+              {streamRows.map((row) => (
+                <li key={row.id}>{row.id}: {row.name} ({row.email})</li>
+              ))}
+            </ul>
+          </div>
+        )}
+      </div>
+
     </div>
   );
 };
@@ -0,0 +1,70 @@
+import { useEffect, useRef, useState } from 'react';
+import { ApiResponse } from '../models/ApiResponse';
+
+/**
+ * Event name sent by the server when the missed events are no longer available for replay
+ */
+export const RESET_EVENT = 'reset';
+
+/**
+ * Options of useEventStream
+ */
+export interface EventStreamOptions {
+  // Called when events were missed during a disconnect, so the state should be reloaded with fetch
+  onReset?: () => void;
+  // URL of the event stream
+  url?: string;
+}
+
+/**
+ * Subscribe to the server-sent event stream (GET /api/events) instead of polling.
+ * Events carry an ApiResponse, like the responses of apiFetch. After a disconnect the browser
+ * reconnects by itself and the server replays the events missed since the last received id.
+ * @param topics The event names to receive (the stream only sends named events)
+ * @param onEvent Called with the topic and the ApiResponse of every event
+ * @param options The reset callback and the stream URL
+ * @returns Whether the stream is currently connected
+ */
+export const useEventStream = <T>(
+  topics: string[],
+  onEvent: (topic: string, event: ApiResponse<T>) => void,
+  options: EventStreamOptions = {}
+): { connected: boolean } => {
+  const [connected, setConnected] = useState<boolean>(false);
+  // Latest callbacks, so changing them does not reopen the stream
+  const onEventRef = useRef(onEvent);
+  const onResetRef = useRef(options.onReset);
+  onEventRef.current = onEvent;
+  onResetRef.current = options.onReset;
+
+  const url = options.url || '/api/events';
+  const topicKey = topics.join(',');
+
+  useEffect(() => {
+    if (!topicKey) {
+      return;
+    }
+    const source = new EventSource(`${url}?topics=${encodeURIComponent(topicKey)}`);
+
+    const handleEvent = (event: MessageEvent<string>) => {
+      try {
+        onEventRef.current(event.type, JSON.parse(event.data) as ApiResponse<T>);
+      } catch (error) {
+        console.error('Invalid event stream message:', error);
+      }
+    };
+
+    source.onopen = () => setConnected(true);
+    source.onerror = () => setConnected(source.readyState === EventSource.OPEN);
+    source.addEventListener(RESET_EVENT, () => onResetRef.current?.());
+    // Named events only reach listeners of their name
+    topicKey.split(',').forEach((topic) => source.addEventListener(topic, handleEvent));
+
+    return () => {
+      source.close();
+      setConnected(false);
+    };
+  }, [url, topicKey]);
+
+  return { connected };
+};
@@ -1,4 +1,5 @@
 import { ApiResponse } from '../models/ApiResponse';
+import { CBOR_MEDIA_TYPE, decodeCbor } from './cbor';
 
 /**
  * Utility functions for working with ApiResponse objects
@@ -53,16 +54,43 @@ export const getMetadata = <T, K extends keyof Record<string, unknown>>(
   return response.metadata[key as string];
 };
 
+/**
+ * Wire format requested by an ApiResponse fetch function
+ */
+export type ApiFormat = 'json' | 'cbor';
+
+/**
+ * Decode an ApiResponse body according to the response Content-Type.
+ * Error envelopes are always JSON, so a CBOR request can still get a JSON body back.
+ * @param response The fetch response
+ * @returns The decoded ApiResponse
+ */
+const decodeApiResponse = async <T>(response: Response): Promise<ApiResponse<T>> => {
+  const contentType = response.headers.get('Content-Type') || '';
+  if (contentType.startsWith(CBOR_MEDIA_TYPE)) {
+    return decodeCbor<ApiResponse<T>>(await response.arrayBuffer());
+  }
+  return (await response.json()) as ApiResponse<T>;
+};
+
 /**
  * Create a fetch wrapper that automatically converts responses to ApiResponse objects
+ * @param format The wire format to ask for: CBOR is smaller and faster to parse for large payloads
  * @returns A fetch function that returns ApiResponse objects
  */
-export const createApiFetch = () => {
+export const createApiFetch = (format: ApiFormat = 'json') => {
   return async <T>(url: string, options?: RequestInit): Promise<ApiResponse<T>> => {
     try {
-      const response = await fetch(url, options);
-      const data = await response.json();
-      return data as ApiResponse<T>;
+      let requestOptions = options;
+      if (format === 'cbor') {
+        const headers = new Headers(options?.headers);
+        if (!headers.has('Accept')) {
+          headers.set('Accept', `${CBOR_MEDIA_TYPE}, application/json;q=0.9`);
+        }
+        requestOptions = { ...options, headers };
+      }
+      const response = await fetch(url, requestOptions);
+      return await decodeApiResponse<T>(response);
     } catch (error) {
       // If the fetch fails, create an error response
       return {
@@ -79,4 +107,334 @@ export const createApiFetch = () => {
 };
 
 // Create and export a default apiFetch instance
-export const apiFetch = createApiFetch();
\ No newline at end of file
+export const apiFetch = createApiFetch();
+
+// Fetch function asking for CBOR, for endpoints with large payloads
+export const cborApiFetch = createApiFetch('cbor');
+
+/**
+ * Result of one sub-request of a POST /api/batch call
+ */
+interface BatchResult<T> {
+  id: string;
+  status: number;
+  response: ApiResponse<T> | null;
+}
+
+interface PendingCall {
+  id: string;
+  method: string;
+  path: string;
+  headers: Record<string, string>;
+  body: unknown;
+  resolve: (response: ApiResponse<unknown>) => void;
+}
+
+/**
+ * Create a fetch wrapper with the same signature as apiFetch that merges the calls made within one tick
+ * into a single POST /api/batch round trip. Calls with a non-JSON body, an abort signal or a URL outside
+ * /api go through apiFetch directly, as does a tick with only one call.
+ * @param batchUrl The URL of the batch endpoint
+ * @param maxBatchSize Largest number of calls sent in one batch (app.batch.max-requests on the server)
+ * @returns A fetch function that returns ApiResponse objects
+ */
+export const createBatchedApiFetch = (batchUrl = '/api/batch', maxBatchSize = 20) => {
+  let queue: PendingCall[] = [];
+  let nextId = 0;
+
+  const errorResponse = <T>(method: string, message: string, code = 500): ApiResponse<T> => ({
+    code,
+    method,
+    timestamp: new Date().toISOString(),
+    success: false,
+    message,
+    data: null,
+    metadata: {}
+  });
+
+  const send = async (calls: PendingCall[]) => {
+    if (calls.length === 1) {
+      const [call] = calls;
+      call.resolve(await apiFetch(call.path, {
+        method: call.method,
+        headers: call.headers,
+        body: call.body === undefined ? undefined : JSON.stringify(call.body)
+      }));
+      return;
+    }
+    const requests = calls.map(({ id, method, path, headers, body }) => ({ id, method, path, headers, body }));
+    const batch = await apiFetch<BatchResult<unknown>[]>(batchUrl, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      body: JSON.stringify({ requests })
+    });
+    const results = new Map((batch.data ?? []).map((result) => [result.id, result]));
+    for (const call of calls) {
+      const result = results.get(call.id);
+      call.resolve(result?.response ?? errorResponse(call.method, batch.message || 'Batch request failed', result?.status ?? batch.code));
+    }
+  };
+
+  const flush = () => {
+    const calls = queue;
+    queue = [];
+    for (let start = 0; start < calls.length; start += maxBatchSize) {
+      void send(calls.slice(start, start + maxBatchSize));
+    }
+  };
+
+  return <T>(url: string, options?: RequestInit): Promise<ApiResponse<T>> => {
+    const path = new URL(url, window.location.origin);
+    let body: unknown = undefined;
+    let batchable = path.origin === window.location.origin && path.pathname.startsWith('/api/')
+      && path.pathname !== batchUrl && !options?.signal;
+    if (batchable && options?.body != null) {
+      if (typeof options.body === 'string') {
+        try {
+          body = JSON.parse(options.body);
+        } catch {
+          batchable = false;
+        }
+      } else {
+        batchable = false;
+      }
+    }
+    if (!batchable) {
+      return apiFetch<T>(url, options);
+    }
+
+    return new Promise<ApiResponse<T>>((resolve) => {
+      const headers: Record<string, string> = {};
+      new Headers(options?.headers).forEach((value, name) => {
+        headers[name] = value;
+      });
+      if (queue.length === 0) {
+        setTimeout(flush, 0);
+      }
+      queue.push({
+        id: String(nextId++),
+        method: (options?.method || 'GET').toUpperCase(),
+        path: path.pathname + path.search,
+        headers,
+        body,
+        resolve: resolve as (response: ApiResponse<unknown>) => void
+      });
+    });
+  };
+};
+
+// Calls made with batchedApiFetch within the same tick share one round trip
+export const batchedApiFetch = createBatchedApiFetch();
+
+/**
+ * Request header asking the backend to add serverTimeMicros and allocatedBytes to the response metadata
+ * (only honoured when app.metrics.debug.enabled is set, e.g. in the dev profile)
+ */
+export const DEBUG_METRICS_HEADER = 'X-Debug-Metrics';
+
+/**
+ * Add the debug metrics header to fetch options
+ * @param enabled Whether debug metrics are requested
+ * @param options Optional fetch options to extend
+ * @returns The fetch options, with the debug metrics header if enabled
+ */
+export const withDebugMetrics = (enabled: boolean, options?: RequestInit): RequestInit | undefined => {
+  if (!enabled) {
+    return options;
+  }
+  const headers = new Headers(options?.headers);
+  headers.set(DEBUG_METRICS_HEADER, 'true');
+  return { ...options, headers };
+};
+
+/**
+ * Read a newline-delimited JSON (application/x-ndjson) response incrementally.
+ * Each record is passed to the callback as soon as its line has been received,
+ * instead of waiting for the whole body as response.json() does.
+ * @param url The URL of the export endpoint
+ * @param onRecord Called once for every record, in order
+ * @param options Optional fetch options
+ * @returns The number of records received
+ */
+export const readNdjson = async <T>(
+  url: string,
+  onRecord: (record: T) => void,
+  options?: RequestInit
+): Promise<number> => {
+  const headers = new Headers(options?.headers);
+  headers.set('Accept', 'application/x-ndjson');
+  const response = await fetch(url, { ...options, headers });
+  if (!response.ok || !response.body) {
+    throw new Error(`Export failed with status ${response.status}`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let count = 0;
+
+  const emitLine = (line: string) => {
+    if (line.trim().length > 0) {
+      onRecord(JSON.parse(line) as T);
+      count++;
+    }
+  };
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      break;
+    }
+    buffer += decoder.decode(value, { stream: true });
+    let start = 0;
+    let newline = buffer.indexOf('\n', start);
+    while (newline >= 0) {
+      emitLine(buffer.slice(start, newline));
+      start = newline + 1;
+      newline = buffer.indexOf('\n', start);
+    }
+    buffer = buffer.slice(start);
+  }
+  emitLine(buffer + decoder.decode());
+  return count;
+};
+
+
+/**
+ * One page of a keyset-paginated endpoint
+ */
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+  estimatedTotal?: number;
+}
+
+/**
+ * Fetch one page of a keyset-paginated endpoint (e.g. /api/items/page)
+ * @param url The URL of the endpoint, optionally with query parameters
+ * @param cursor The nextCursor of the previous page, or null for the first page
+ * @param size The page size
+ * @param options Optional fetch options
+ * @returns The page, or an error response if the request failed
+ */
+export const fetchPage = async <T>(
+  url: string,
+  cursor: string | null,
+  size = 20,
+  options?: RequestInit
+): Promise<CursorPage<T> | ApiResponse<T[]>> => {
+  const pageUrl = new URL(url, window.location.origin);
+  pageUrl.searchParams.set('size', String(size));
+  if (cursor) {
+    pageUrl.searchParams.set('cursor', cursor);
+  }
+  const response = await apiFetch<T[]>(pageUrl.toString(), options);
+  if (!isSuccessResponse(response)) {
+    return response;
+  }
+  const estimatedTotal = response.metadata.estimatedTotal;
+  return {
+    items: response.data ?? [],
+    nextCursor: (response.metadata.nextCursor as string | undefined) ?? null,
+    hasMore: response.metadata.hasMore === true,
+    estimatedTotal: typeof estimatedTotal === 'number' ? estimatedTotal : undefined
+  };
+};
+
+/**
+ * Create a loader for infinite scrolling: every call to loadMore() fetches the page after the
+ * last one received, following nextCursor, so deep pages cost the same as the first one.
+ * Concurrent calls while a page is loading return the same promise.
+ * @param url The URL of the keyset-paginated endpoint
+ * @param size The page size
+ * @param options Optional fetch options
+ * @returns The loader; loadMore() resolves with the new items, or an empty array when there are no more
+ */
+export const createInfiniteScroll = <T>(url: string, size = 20, options?: RequestInit) => {
+  let cursor: string | null = null;
+  let hasMore = true;
+  let pending: Promise<T[]> | null = null;
+
+  const loadMore = (): Promise<T[]> => {
+    if (!hasMore) {
+      return Promise.resolve([]);
+    }
+    if (pending) {
+      return pending;
+    }
+    pending = fetchPage<T>(url, cursor, size, options)
+      .then((page) => {
+        if (!('items' in page)) {
+          throw new Error(getErrorMessage(page));
+        }
+        cursor = page.nextCursor;
+        hasMore = page.hasMore;
+        return page.items;
+      })
+      .finally(() => {
+        pending = null;
+      });
+    return pending;
+  };
+
+  return {
+    loadMore,
+    hasMore: () => hasMore,
+    reset: () => {
+      cursor = null;
+      hasMore = true;
+    }
+  };
+};
+
+/**
+ * State of a background job, as returned by the /api/jobs endpoints
+ */
+export interface JobView<T = unknown> {
+  id: string;
+  type: string;
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+  attempts: number;
+  createdAt: string;
+  startedAt: string | null;
+  finishedAt: string | null;
+  result: T | null;
+  error: string | null;
+}
+
+/**
+ * Submit a background job and wait for its outcome by long-polling /api/jobs/{id}/await,
+ * so the client sends one request per wait period instead of polling in a tight loop.
+ * @param type The job type
+ * @param payload The job input, sent as JSON
+ * @param options Optional fetch options, e.g. an AbortSignal to stop waiting
+ * @returns The response carrying the finished job, or the error response of a failed request
+ */
+export const runJob = async <T>(type: string, payload?: unknown, options?: RequestInit): Promise<ApiResponse<JobView<T>>> => {
+  const headers = new Headers(options?.headers);
+  headers.set('Content-Type', 'application/json');
+  const submitted = await apiFetch<JobView<T>>(`/api/jobs/${encodeURIComponent(type)}`, {
+    ...options,
+    method: 'POST',
+    headers,
+    body: payload !== undefined ? JSON.stringify(payload) : undefined
+  });
+  const jobId = getMetadata(submitted, 'jobId');
+  if (!isSuccessResponse(submitted) || typeof jobId !== 'string') {
+    return submitted;
+  }
+
+  for (;;) {
+    // Same credentials, headers and signal as the submission, without its method and body
+    const response = await apiFetch<JobView<T>>(`/api/jobs/${jobId}/await?timeout=30`, {
+      ...options,
+      method: 'GET',
+      body: undefined
+    });
+    const job = getResponseData(response);
+    if (!isSuccessResponse(response) || !job || job.status === 'SUCCEEDED' || job.status === 'FAILED') {
+      return response;
+    }
+  }
+};
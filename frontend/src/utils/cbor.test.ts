@@ -0,0 +1,58 @@
+import assert from 'node:assert/strict';
+import { describe, it } from 'node:test';
+import { decodeCbor } from './cbor.ts';
+
+const decode = (...bytes: number[]): unknown => decodeCbor(new Uint8Array(bytes).buffer);
+
+const text = (value: string): number[] => [0x60 + value.length, ...new TextEncoder().encode(value)];
+
+// 2^64, one more than the largest 64-bit unsigned integer
+const TWO_TO_64 = [0x49, 0x01, 0, 0, 0, 0, 0, 0, 0, 0];
+
+describe('decodeCbor', () => {
+  it('decodes maps, arrays and simple values', () => {
+    const value = decode(0xa2, ...text('a'), 0x01, ...text('b'), 0x83, 0xf5, 0xf6, 0x20) as Record<string, unknown>;
+    assert.deepEqual({ ...value }, { a: 1, b: [true, null, -1] });
+  });
+
+  it('decodes half, single and double precision floats', () => {
+    assert.equal(decode(0xf9, 0x3c, 0x00), 1);
+    assert.equal(decode(0xf9, 0x7c, 0x00), Infinity);
+    assert.equal(decode(0xfa, 0x47, 0xc3, 0x50, 0x00), 100000);
+    assert.equal(decode(0xfb, 0x3f, 0xf1, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9a), 1.1);
+  });
+
+  it('joins indefinite length strings and arrays', () => {
+    assert.equal(decode(0x7f, ...text('ab'), ...text('c'), 0xff), 'abc');
+    assert.deepEqual(decode(0x9f, 0x01, 0x02, 0xff), [1, 2]);
+  });
+
+  it('decodes BigDecimal decimal fractions', () => {
+    // 4([-2, 1999])
+    assert.equal(decode(0xc4, 0x82, 0x21, 0x19, 0x07, 0xcf), 19.99);
+    // 4([-2, -1999])
+    assert.equal(decode(0xc4, 0x82, 0x21, 0x39, 0x07, 0xce), -19.99);
+    // 4([2, 5])
+    assert.equal(decode(0xc4, 0x82, 0x02, 0x05), 500);
+    // 4([-20, 2(2^64)]): the mantissa is a bignum
+    assert.equal(decode(0xc4, 0x82, 0x33, 0xc2, ...TWO_TO_64), Number('0.18446744073709551616'));
+  });
+
+  it('decodes bignums', () => {
+    assert.equal(decode(0xc2, ...TWO_TO_64), 18446744073709551616);
+    assert.equal(decode(0xc3, ...TWO_TO_64), Number('-18446744073709551617'));
+  });
+
+  it('returns the content of other tags', () => {
+    // 1(1363896240), epoch seconds
+    assert.equal(decode(0xc1, 0x1a, 0x51, 0x4b, 0x67, 0xb0), 1363896240);
+  });
+
+  it('keeps __proto__ as a plain key', () => {
+    const value = decode(0xa1, ...text('__proto__'), 0xa1, ...text('polluted'), 0xf5) as Record<string, unknown>;
+
+    assert.equal(Object.getPrototypeOf(value), null);
+    assert.deepEqual(Object.keys(value), ['__proto__']);
+    assert.equal(({} as Record<string, unknown>).polluted, undefined);
+  });
+});
@@ -0,0 +1,252 @@
+/**
+ * Minimal CBOR (RFC 8949) decoder for ApiResponse payloads.
+ * Supports the types Jackson writes: integers, floats (half, single, double), byte and text strings,
+ * arrays and maps (definite and indefinite length), booleans, null and undefined.
+ * Big integers (tags 2 and 3) and BigDecimal (tag 4) are decoded to numbers, as JSON.parse decodes them;
+ * other tags are skipped and their content returned.
+ */
+
+const textDecoder = new TextDecoder();
+
+/**
+ * Media type of CBOR responses
+ */
+export const CBOR_MEDIA_TYPE = 'application/cbor';
+
+const BREAK = Symbol('break');
+
+const TAG_POSITIVE_BIGNUM = 2;
+const TAG_NEGATIVE_BIGNUM = 3;
+const TAG_DECIMAL_FRACTION = 4;
+
+const toBigInt = (magnitude: Uint8Array): bigint => {
+  let value = 0n;
+  for (const byte of magnitude) {
+    value = (value << 8n) | BigInt(byte);
+  }
+  return value;
+};
+
+const decodeHalf = (half: number): number => {
+  const exponent = (half >> 10) & 0x1f;
+  const fraction = half & 0x3ff;
+  const sign = half & 0x8000 ? -1 : 1;
+  if (exponent === 0) {
+    return sign * 2 ** -14 * (fraction / 1024);
+  }
+  if (exponent === 0x1f) {
+    return fraction ? NaN : sign * Infinity;
+  }
+  return sign * 2 ** (exponent - 15) * (1 + fraction / 1024);
+};
+
+/**
+ * Decode a CBOR document
+ * @param buffer The encoded bytes
+ * @returns The decoded value, with maps as objects without prototype, so keys like __proto__ are plain keys
+ */
+export const decodeCbor = <T = unknown>(buffer: ArrayBuffer): T => {
+  const view = new DataView(buffer);
+  const bytes = new Uint8Array(buffer);
+  let offset = 0;
+
+  const readLength = (info: number): number => {
+    if (info < 24) {
+      return info;
+    }
+    switch (info) {
+      case 24:
+        return view.getUint8(offset++);
+      case 25: {
+        const value = view.getUint16(offset);
+        offset += 2;
+        return value;
+      }
+      case 26: {
+        const value = view.getUint32(offset);
+        offset += 4;
+        return value;
+      }
+      case 27: {
+        const value = view.getBigUint64(offset);
+        offset += 8;
+        return Number(value);
+      }
+      case 31:
+        return -1;
+      default:
+        throw new Error(`Invalid CBOR length encoding ${info} at offset ${offset}`);
+    }
+  };
+
+  const readChunks = (majorType: number, length: number): Uint8Array => {
+    if (length >= 0) {
+      const chunk = bytes.subarray(offset, offset + length);
+      offset += length;
+      return chunk;
+    }
+    // Indefinite length: definite chunks of the same major type until break
+    const chunks: Uint8Array[] = [];
+    let total = 0;
+    while (bytes[offset] !== 0xff) {
+      const initial = bytes[offset++];
+      if (initial >> 5 !== majorType) {
+        throw new Error(`Invalid chunk in indefinite CBOR string at offset ${offset - 1}`);
+      }
+      const chunk = readChunks(majorType, readLength(initial & 0x1f));
+      chunks.push(chunk);
+      total += chunk.length;
+    }
+    offset++;
+    const joined = new Uint8Array(total);
+    let position = 0;
+    for (const chunk of chunks) {
+      joined.set(chunk, position);
+      position += chunk.length;
+    }
+    return joined;
+  };
+
+  const readItem = (): unknown => {
+    const initial = bytes[offset++];
+    const majorType = initial >> 5;
+    const info = initial & 0x1f;
+
+    if (majorType === 7) {
+      switch (info) {
+        case 20:
+          return false;
+        case 21:
+          return true;
+        case 22:
+          return null;
+        case 23:
+          return undefined;
+        case 25: {
+          const value = decodeHalf(view.getUint16(offset));
+          offset += 2;
+          return value;
+        }
+        case 26: {
+          const value = view.getFloat32(offset);
+          offset += 4;
+          return value;
+        }
+        case 27: {
+          const value = view.getFloat64(offset);
+          offset += 8;
+          return value;
+        }
+        case 31:
+          return BREAK;
+        default:
+          return info < 24 ? info : view.getUint8(offset++);
+      }
+    }
+
+    const length = readLength(info);
+    switch (majorType) {
+      case 0:
+        return length;
+      case 1:
+        return -1 - length;
+      case 2:
+        return readChunks(2, length).slice();
+      case 3:
+        return textDecoder.decode(readChunks(3, length));
+      case 4: {
+        const array: unknown[] = [];
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) {
+            array.push(readItem());
+          }
+        } else {
+          for (let item = readItem(); item !== BREAK; item = readItem()) {
+            array.push(item);
+          }
+        }
+        return array;
+      }
+      case 5: {
+        const map: Record<string, unknown> = Object.create(null);
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) {
+            const key = String(readItem());
+            map[key] = readItem();
+          }
+        } else {
+          for (let key = readItem(); key !== BREAK; key = readItem()) {
+            map[String(key)] = readItem();
+          }
+        }
+        return map;
+      }
+      case 6:
+        return readTagged(length);
+      default:
+        throw new Error(`Invalid CBOR major type ${majorType} at offset ${offset - 1}`);
+    }
+  };
+
+  // Integer or bignum, exactly
+  const readInteger = (): bigint => {
+    const initial = bytes[offset++];
+    const majorType = initial >> 5;
+    const info = initial & 0x1f;
+    if (majorType === 0 || majorType === 1) {
+      const value = readUint(info);
+      return majorType === 0 ? value : -1n - value;
+    }
+    if (majorType === 6) {
+      const tag = readLength(info);
+      const magnitude = readByteString();
+      if (tag === TAG_POSITIVE_BIGNUM) {
+        return magnitude;
+      }
+      if (tag === TAG_NEGATIVE_BIGNUM) {
+        return -1n - magnitude;
+      }
+    }
+    throw new Error(`Invalid CBOR integer at offset ${offset - 1}`);
+  };
+
+  const readUint = (info: number): bigint => {
+    if (info === 27) {
+      const value = view.getBigUint64(offset);
+      offset += 8;
+      return value;
+    }
+    return BigInt(readLength(info));
+  };
+
+  const readByteString = (): bigint => {
+    const initial = bytes[offset++];
+    if (initial >> 5 !== 2) {
+      throw new Error(`Invalid CBOR bignum at offset ${offset - 1}`);
+    }
+    return toBigInt(readChunks(2, readLength(initial & 0x1f)));
+  };
+
+  const readTagged = (tag: number): unknown => {
+    switch (tag) {
+      case TAG_POSITIVE_BIGNUM:
+        return Number(readByteString());
+      case TAG_NEGATIVE_BIGNUM:
+        return Number(-1n - readByteString());
+      case TAG_DECIMAL_FRACTION: {
+        // [exponent, mantissa], value = mantissa * 10^exponent; parsed from text so it is rounded once
+        if (bytes[offset++] !== 0x82) {
+          throw new Error(`Invalid CBOR decimal fraction at offset ${offset - 1}`);
+        }
+        const exponent = readInteger();
+        const mantissa = readInteger();
+        return Number(`${mantissa}e${exponent}`);
+      }
+      default:
+        // Other tags (e.g. date strings) annotate their content, which is returned as is
+        return readItem();
+    }
+  };
+
+  return readItem() as T;
+};
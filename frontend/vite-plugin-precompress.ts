@@ -0,0 +1,51 @@
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+import { readFileSync, statSync, writeFileSync } from 'node:fs'
+import { join } from 'node:path'
+import type { Plugin } from 'vite'
+
+// Text formats worth compressing; images and fonts are already compressed
+const COMPRESSIBLE = /\.(js|mjs|css|html|svg|json|txt|map|wasm)$/
+
+// Below this size the compressed variant saves less than its extra request header overhead
+const MIN_SIZE = 1024
+
+/**
+ * Emit Brotli (.br) and gzip (.gz) variants next to every compressible build output,
+ * so the backend serves precompressed files instead of compressing on every request.
+ * A variant is only kept if it is smaller than the original file.
+ */
+export default function precompress(): Plugin {
+  let outDir = 'dist'
+  return {
+    name: 'precompress',
+    apply: 'build',
+    configResolved(config) {
+      outDir = config.build.outDir
+    },
+    writeBundle(_options, bundle) {
+      for (const fileName of Object.keys(bundle)) {
+        if (!COMPRESSIBLE.test(fileName)) {
+          continue
+        }
+        const file = join(outDir, fileName)
+        if (statSync(file).size < MIN_SIZE) {
+          continue
+        }
+        const source = readFileSync(file)
+        const brotli = brotliCompressSync(source, {
+          params: {
+            [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+            [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+          },
+        })
+        if (brotli.length < source.length) {
+          writeFileSync(`${file}.br`, brotli)
+        }
+        const gzip = gzipSync(source, { level: constants.Z_BEST_COMPRESSION })
+        if (gzip.length < source.length) {
+          writeFileSync(`${file}.gz`, gzip)
+        }
+      }
+    },
+  }
+}